@@ -0,0 +1,435 @@
+package com.mmasata.util;
+
+import com.mmasata.util.adaptive.AdaptivePolicy;
+import com.mmasata.util.adaptive.Migration;
+import com.mmasata.util.adaptive.Representation;
+import com.mmasata.util.aggregate.MonoidFactory;
+import com.mmasata.util.comparator.AlphabeticalOrderStringComparator;
+import com.mmasata.util.comparator.AscOrderIntegerComparator;
+import com.mmasata.util.exception.MethodNotImplementedException;
+import com.mmasata.util.helper.FootprintHelper;
+import com.mmasata.util.model.MemoryFootprint;
+import lombok.NoArgsConstructor;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * SortedLinkedList which switches its internal representation according to its size and the observed operation mix.
+ * <p>
+ * Small lists are kept as a plain chain of Nodes, large read-heavy lists as a sorted array and large write-heavy lists as an indexed skip list.
+ * The workload is evaluated after every window of operations defined by the AdaptivePolicy, the migration itself costs O(n) and is transparent to callers.
+ * <p>
+ * All representations match records by equals, so contains and remove answer the same regardless of the current representation.
+ * Iterators taken before a migration keep traversing the records as they were at the time of the migration.
+ *
+ * @param <T> Generic value of the collection
+ */
+@NoArgsConstructor(access = PRIVATE)
+public class AdaptiveSortedLinkedList<T> implements SortedLinkedList<T> {
+
+    private Comparator<T> comparator;
+
+    private AdaptivePolicy policy;
+
+    private SortedLinkedList<T> delegate;
+
+    private Representation representation = Representation.LINKED;
+
+    private Consumer<Migration> migrationListener = migration -> {
+    };
+
+    private int operations = 0;
+
+    private int writes = 0;
+
+    private int positional = 0;
+
+    private int migrations = 0;
+
+
+    /**
+     * Static method constructing data structure for Strings
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static AdaptiveSortedLinkedList<String> createForStrings() {
+        return createForStrings(new AlphabeticalOrderStringComparator());
+    }
+
+    /**
+     * Static method constructing data structure for Strings
+     * Using a custom comparator.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static AdaptiveSortedLinkedList<String> createForStrings(Comparator<String> customComparator) {
+        return createForStrings(customComparator, AdaptivePolicy.defaults());
+    }
+
+    /**
+     * Static method constructing data structure for Strings
+     * Using a custom comparator and policy.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static AdaptiveSortedLinkedList<String> createForStrings(Comparator<String> customComparator,
+                                                                    AdaptivePolicy policy) {
+        return create(customComparator, policy);
+    }
+
+    /**
+     * Static method constructing data structure for Integers
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static AdaptiveSortedLinkedList<Integer> createForInts() {
+        return createForInts(new AscOrderIntegerComparator());
+    }
+
+    /**
+     * Static method constructing data structure for Integers
+     * Using a custom comparator.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static AdaptiveSortedLinkedList<Integer> createForInts(Comparator<Integer> customComparator) {
+        return createForInts(customComparator, AdaptivePolicy.defaults());
+    }
+
+    /**
+     * Static method constructing data structure for Integers
+     * Using a custom comparator and policy.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static AdaptiveSortedLinkedList<Integer> createForInts(Comparator<Integer> customComparator,
+                                                                  AdaptivePolicy policy) {
+        return create(customComparator, policy);
+    }
+
+    private static <T> AdaptiveSortedLinkedList<T> create(Comparator<T> customComparator,
+                                                          AdaptivePolicy policy) {
+        var sortedLinkedList = new AdaptiveSortedLinkedList<T>();
+        sortedLinkedList.comparator = customComparator;
+        sortedLinkedList.policy = policy;
+        sortedLinkedList.delegate = SortedLinkedListImpl.create(customComparator);
+        return sortedLinkedList;
+    }
+
+    /**
+     * @return Returns the representation currently used
+     */
+    public Representation representation() {
+        return representation;
+    }
+
+    /**
+     * @return Returns the policy deciding the representation
+     */
+    public AdaptivePolicy policy() {
+        return policy;
+    }
+
+    /**
+     * @return Returns the number of migrations performed so far
+     */
+    public int migrations() {
+        return migrations;
+    }
+
+    /**
+     * @param migrationListener Listener notified after every migration
+     */
+    public void setMigrationListener(Consumer<Migration> migrationListener) {
+        this.migrationListener = migrationListener;
+    }
+
+    /**
+     * Migrates to the given representation regardless of the policy. The workload observed so far is discarded.
+     *
+     * @param target Requested representation
+     */
+    public void migrate(Representation target) {
+        migrate(target, 0, 0);
+        resetWindow();
+    }
+
+    /**
+     * @return Returns the number of items in SortedLinkedList
+     */
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    /**
+     * Checks if SortedLinkedList is empty (has no record in it)
+     *
+     * @return Returns true if it has no records. Otherwise, returns false
+     */
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    /**
+     * @param index Searched index
+     * @return Returns an entry at the specified index
+     */
+    @Override
+    public T get(int index) {
+        var value = delegate.get(index);
+        record(false, true);
+        return value;
+    }
+
+    /**
+     * Sets a new value on the given index
+     *
+     * @param index Searched index
+     * @param value New value
+     */
+    @Override
+    public void set(int index, T value) {
+        delegate.set(index, value);
+        record(true, true);
+    }
+
+    /**
+     * Add new record to the SortedLinkedList
+     *
+     * @param t element whose presence in this collection is to be ensured
+     * @return Returns true if the addition to SortedLinkedList was successful
+     */
+    @Override
+    public boolean add(T t) {
+        var added = delegate.add(t);
+        record(true, false);
+        return added;
+    }
+
+    /**
+     * Add new Collection of records to the SortedLinkedList
+     *
+     * @param c collection containing elements to be added to this collection
+     * @return Returns true if adding to SortedLinkedList was successful for all elements
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return c.stream().allMatch(this::add);
+    }
+
+    /**
+     * Checks if the item exists in the SortedLinkedList. If yes, it returns true, otherwise false.
+     *
+     * @param o Element whose presence in this collection is to be tested
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean contains(Object o) {
+        var contains = delegate.contains(o);
+        record(false, false);
+        return contains;
+    }
+
+    /**
+     * Checks if the all items in the Collection exists in the SortedLinkedList. If yes, it returns true, otherwise false.
+     *
+     * @param c collection to be checked for containment in this collection
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return c.stream().allMatch(this::contains);
+    }
+
+    /**
+     * Attempts to find an entry in SortedLinkedList. If it finds it, then deletes it.
+     *
+     * @param o element to be removed from this collection, if present
+     * @return Returns true if the record was deleted, otherwise returns false and the record does not exist in SortedLinkedList
+     */
+    @Override
+    public boolean remove(Object o) {
+        var removed = delegate.remove(o);
+        record(true, false);
+        return removed;
+    }
+
+    /**
+     * Attempts to find each entry in the Collection in SortedLinkedList. If it finds it, then deletes it.
+     *
+     * @param c collection containing elements to be removed from this collection
+     * @return Returns true if the records was deleted, otherwise returns false.
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return c.stream().allMatch(this::remove);
+    }
+
+    /**
+     * Clears the entire SortedLinkedList, the representation is reconsidered at the end of the window
+     */
+    @Override
+    public void clear() {
+        delegate.clear();
+        record(true, false);
+    }
+
+    /**
+     * @return Returns the comparator used to sort the records in the collection.
+     */
+    @Override
+    public Comparator<T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * @return Returns an estimate of the heap occupied by the collection, the current representation included
+     */
+    @Override
+    public MemoryFootprint estimateFootprint() {
+        var footprintHelper = new FootprintHelper();
+
+        //list itself (comparator, policy, delegate, representation, listener, counters)
+        var structureBytes = footprintHelper.objectFootprint(5, 4 * Integer.BYTES);
+        return new MemoryFootprint(structureBytes, 0, 0).plus(delegate.estimateFootprint());
+    }
+
+    /**
+     * Compacts the current representation
+     */
+    @Override
+    public void compact() {
+        delegate.compact();
+    }
+
+    /**
+     * The iterator stays valid across migrations and supports remove() in all representations.
+     * If a migration happened since it was created, remove() deletes the last returned value from the current representation.
+     *
+     * @return Returns iterator for SortedLinkedList
+     */
+    @Override
+    public Iterator<T> iterator() {
+        record(false, false);
+        var source = delegate;
+        var iterator = source.iterator();
+
+        return new Iterator<>() {
+
+            private T lastReturned;
+
+            private boolean removable = false;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                lastReturned = iterator.next();
+                removable = true;
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+                if (!removable) {
+                    throw new IllegalStateException();
+                }
+
+                if (delegate == source) {
+                    iterator.remove();
+                } else {
+                    delegate.remove(lastReturned);
+                }
+                removable = false;
+
+                //counted like remove(Object), so the workload seen by the policy includes the deletes made through the iterator
+                record(true, false);
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        record(false, false);
+        return delegate.toArray();
+    }
+
+    @Override
+    public <T1> T1[] toArray(T1[] a) {
+        throw new MethodNotImplementedException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new MethodNotImplementedException();
+    }
+
+    /**
+     * Counts the operation and evaluates the workload at the end of every window
+     */
+    private void record(boolean write,
+                        boolean positionalAccess) {
+        operations++;
+        if (write) {
+            writes++;
+        }
+        if (positionalAccess) {
+            positional++;
+        }
+
+        if (operations < policy.getEvaluationWindow()) {
+            return;
+        }
+
+        var writeRatio = (double) writes / operations;
+        var positionalRatio = (double) positional / operations;
+        var target = policy.decide(representation, delegate.size(), writeRatio, positionalRatio);
+
+        if (target != representation) {
+            migrate(target, writeRatio, positionalRatio);
+        }
+        resetWindow();
+    }
+
+    private void migrate(Representation target,
+                         double writeRatio,
+                         double positionalRatio) {
+
+        if (target == representation) {
+            return;
+        }
+
+        var size = delegate.size();
+        var values = delegate.iterator();
+
+        SortedLinkedList<T> migrated = switch (target) {
+            case LINKED -> SortedLinkedListImpl.create(comparator).link(values, size);
+            case ARRAY -> SortedArrayList.create(comparator).link(values, size);
+            case INDEXED -> AggregatingSortedLinkedList.create(comparator, MonoidFactory.<T>count()).link(values);
+        };
+
+        //the old representation is only dropped, iterators taken before the migration keep using it
+        var migration = new Migration(representation, target, size, writeRatio, positionalRatio);
+        delegate = migrated;
+        representation = target;
+        migrations++;
+        migrationListener.accept(migration);
+    }
+
+    private void resetWindow() {
+        operations = 0;
+        writes = 0;
+        positional = 0;
+    }
+
+}
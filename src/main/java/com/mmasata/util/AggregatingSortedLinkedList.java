@@ -0,0 +1,368 @@
+package com.mmasata.util;
+
+import com.mmasata.util.aggregate.Monoid;
+import com.mmasata.util.aggregate.MonoidFactory;
+import com.mmasata.util.comparator.AlphabeticalOrderStringComparator;
+import com.mmasata.util.comparator.AscOrderIntegerComparator;
+import com.mmasata.util.exception.MethodNotImplementedException;
+import com.mmasata.util.helper.AggregatingSkipListHelper;
+import com.mmasata.util.helper.FootprintHelper;
+import com.mmasata.util.iterator.SkipListIterator;
+import com.mmasata.util.model.IntAggregate;
+import com.mmasata.util.model.MemoryFootprint;
+import com.mmasata.util.model.SkipNode;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Augmented variant of SortedLinkedList maintaining partial aggregates of the records.
+ * <p>
+ * The records are kept in a skip list, every forward reference carries the number of skipped records and their aggregate computed by the given Monoid.
+ * Inserts and deletes update only the spans on the search path, so the aggregate of any value range, as well as positional access, costs O(log n) instead of streaming the whole collection.
+ * <p>
+ * Records are searched by the Comparator and matched by equals within the run of records equal by the Comparator.
+ *
+ * @param <T> Generic value of the collection
+ * @param <A> Aggregate value
+ */
+@NoArgsConstructor(access = PRIVATE)
+public class AggregatingSortedLinkedList<T, A> implements SortedLinkedList<T> {
+
+    /**
+     * Maximal height of a Node, enough for 2^32 records with promotion probability 1/2.
+     * The sentinel is only as high as the highest Node currently in the list.
+     */
+    private static final int MAX_HEIGHT = 32;
+
+    private Comparator<T> comparator;
+
+    private Monoid<T, A> monoid;
+
+    private AggregatingSkipListHelper helper;
+
+    private SkipNode<T, A> sentinel;
+
+    private Random random;
+
+    private int size = 0;
+
+
+    /**
+     * Static method constructing data structure for Strings
+     * Using a custom monoid.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static <A> AggregatingSortedLinkedList<String, A> createForStrings(Monoid<String, A> monoid) {
+        return createForStrings(new AlphabeticalOrderStringComparator(), monoid);
+    }
+
+    /**
+     * Static method constructing data structure for Strings
+     * Using a custom comparator and monoid.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static <A> AggregatingSortedLinkedList<String, A> createForStrings(Comparator<String> customComparator,
+                                                                              Monoid<String, A> monoid) {
+        return create(customComparator, monoid);
+    }
+
+    /**
+     * Static method constructing data structure for Integers maintaining count, sum, min and max
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static AggregatingSortedLinkedList<Integer, IntAggregate> createForInts() {
+        return createForInts(new AscOrderIntegerComparator());
+    }
+
+    /**
+     * Static method constructing data structure for Integers maintaining count, sum, min and max
+     * Using a custom comparator.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static AggregatingSortedLinkedList<Integer, IntAggregate> createForInts(Comparator<Integer> customComparator) {
+        return createForInts(customComparator, MonoidFactory.intAggregate());
+    }
+
+    /**
+     * Static method constructing data structure for Integers
+     * Using a custom comparator and monoid.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static <A> AggregatingSortedLinkedList<Integer, A> createForInts(Comparator<Integer> customComparator,
+                                                                            Monoid<Integer, A> monoid) {
+        return create(customComparator, monoid);
+    }
+
+    static <T, A> AggregatingSortedLinkedList<T, A> create(Comparator<T> customComparator,
+                                                           Monoid<T, A> monoid) {
+        var sortedLinkedList = new AggregatingSortedLinkedList<T, A>();
+        sortedLinkedList.comparator = customComparator;
+        sortedLinkedList.monoid = monoid;
+        sortedLinkedList.helper = new AggregatingSkipListHelper();
+        sortedLinkedList.sentinel = new SkipNode<>(null, 1);
+        sortedLinkedList.random = new Random();
+        return sortedLinkedList;
+    }
+
+    /**
+     * Replaces the content of this list with already sorted values, all spans are computed in one pass per level.
+     */
+    AggregatingSortedLinkedList<T, A> link(Iterator<? extends T> sortedValues) {
+        helper.performClear(sentinel, monoid);
+        size = helper.performBuild(sentinel, sortedValues, this::randomHeight, monoid);
+        return this;
+    }
+
+    /**
+     * Aggregates all records between the bounds (both inclusive) in O(log n).
+     * The bounds follow the order of the Comparator, so the first bound must not be sorted after the second one.
+     *
+     * @param from Lower bound in the order of the Comparator
+     * @param to   Upper bound in the order of the Comparator
+     * @return Returns aggregate of the records in the range, identity of the Monoid if there are none
+     */
+    public A aggregate(T from, T to) {
+        var start = helper.findPredecessors(sentinel, comparator, from)[0];
+        return helper.performFold(start, value -> comparator.compare(value, to) <= 0, monoid);
+    }
+
+    /**
+     * @return Returns aggregate of all records in O(log n)
+     */
+    public A aggregate() {
+        return helper.performFold(sentinel, value -> true, monoid);
+    }
+
+    /**
+     * @return Returns the Monoid used for aggregation
+     */
+    public Monoid<T, A> monoid() {
+        return monoid;
+    }
+
+    /**
+     * @return Returns the number of items in SortedLinkedList
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if SortedLinkedList is empty (has no record in it)
+     *
+     * @return Returns true if it has no records. Otherwise, returns false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index Searched index
+     * @return Returns an entry at the specified index in O(log n)
+     */
+    @Override
+    public T get(int index) {
+        return helper.findNodeByIndex(sentinel, index).getValue();
+    }
+
+    /**
+     * Sets a new value on the given index
+     *
+     * @param index Searched index
+     * @param value New value
+     */
+    @Override
+    public void set(int index, T value) {
+        var oldValue = get(index);
+
+        //to keep ordered we need to reorder
+        remove(oldValue);
+        add(value);
+    }
+
+    /**
+     * Add new record to the SortedLinkedList and updates the aggregates on the search path
+     *
+     * @param t element whose presence in this collection is to be ensured
+     * @return Returns true if the addition to SortedLinkedList was successful
+     */
+    @Override
+    public boolean add(T t) {
+        helper.performInsert(sentinel, comparator, monoid, t, randomHeight());
+        size++;
+        return true;
+    }
+
+    /**
+     * Add new Collection of records to the SortedLinkedList
+     *
+     * @param c collection containing elements to be added to this collection
+     * @return Returns true if adding to SortedLinkedList was successful for all elements
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return c.stream().allMatch(this::add);
+    }
+
+    /**
+     * Checks if the item exists in the SortedLinkedList in O(log n).
+     *
+     * @param o Element whose presence in this collection is to be tested
+     * @return Returns a boolean about the existence of an item in SortedLinkedList, false for a value of another type
+     */
+    @Override
+    public boolean contains(Object o) {
+        return findPredecessors(o) != null;
+    }
+
+    /**
+     * Checks if the all items in the Collection exists in the SortedLinkedList. If yes, it returns true, otherwise false.
+     *
+     * @param c collection to be checked for containment in this collection
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return c.stream().allMatch(this::contains);
+    }
+
+    /**
+     * Attempts to find an entry in SortedLinkedList. If it finds it, then deletes it and updates the aggregates on the search path.
+     *
+     * @param o element to be removed from this collection, if present
+     * @return Returns true if the record was deleted, otherwise returns false and the record does not exist in SortedLinkedList
+     */
+    @Override
+    public boolean remove(Object o) {
+        var predecessors = findPredecessors(o);
+        if (predecessors == null) {
+            return false;
+        }
+
+        helper.performDelete(sentinel, predecessors, monoid);
+        size--;
+        return true;
+    }
+
+    /**
+     * Attempts to find each entry in the Collection in SortedLinkedList. If it finds it, then deletes it.
+     *
+     * @param c collection containing elements to be removed from this collection
+     * @return Returns true if the records was deleted, otherwise returns false.
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return c.stream().allMatch(this::remove);
+    }
+
+    /**
+     * Sets the value of all elements to null and finally clears the entire SortedLinkedList
+     */
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+
+        helper.performClear(sentinel, monoid);
+        size = 0;
+    }
+
+    /**
+     * @return Returns the comparator used to sort the records in the collection.
+     */
+    @Override
+    public Comparator<T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * @return Returns an estimate of the heap occupied by the collection, split into its structure, SkipNodes (including span aggregates) and stored values
+     */
+    @Override
+    public MemoryFootprint estimateFootprint() {
+        var footprintHelper = new FootprintHelper();
+
+        //list itself (comparator, monoid, helper, sentinel, random, size), the stateless helper and the random generator
+        var structureBytes = footprintHelper.objectFootprint(5, Integer.BYTES)
+                + footprintHelper.objectFootprint(0, 0)
+                + footprintHelper.objectFootprint(1, Long.BYTES);
+        return new MemoryFootprint(structureBytes, 0, 0).plus(footprintHelper.estimateSkipNodes(sentinel));
+    }
+
+    /**
+     * Rebuilds the skip list into freshly allocated SkipNodes in the list order, spans are recomputed in one pass per level
+     */
+    @Override
+    public void compact() {
+        var values = new ArrayList<T>(size);
+        iterator().forEachRemaining(values::add);
+
+        link(values.iterator());
+    }
+
+    /**
+     * @return Returns iterator for SortedLinkedList, remove() searches the record again in O(log n)
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new SkipListIterator<>(sentinel, this::remove);
+    }
+
+    @Override
+    public Object[] toArray() {
+        var array = new Object[size];
+        var iterator = iterator();
+
+        for (var idx = 0; idx < size; idx++) {
+            array[idx] = iterator.next();
+        }
+
+        return array;
+    }
+
+    @Override
+    public <T1> T1[] toArray(T1[] a) {
+        throw new MethodNotImplementedException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new MethodNotImplementedException();
+    }
+
+    /**
+     * @return Returns predecessors of the first record equal to the value, null if there is none or the value is of another type
+     */
+    @SuppressWarnings("unchecked")
+    private SkipNode<T, A>[] findPredecessors(Object o) {
+        try {
+            return helper.findPredecessorsOfEqual(sentinel, comparator, (T) o);
+        } catch (ClassCastException e) {
+            //the Comparator cannot compare the value, so it is not in the list
+            return null;
+        }
+    }
+
+    /**
+     * @return Returns height of a new Node, every further level with probability 1/2
+     */
+    private int randomHeight() {
+        return Math.min(MAX_HEIGHT, Integer.numberOfTrailingZeros(random.nextInt()) + 1);
+    }
+
+}
@@ -0,0 +1,415 @@
+package com.mmasata.util;
+
+import com.mmasata.util.arena.Utf8Arena;
+import com.mmasata.util.comparator.AlphabeticalOrderStringComparator;
+import com.mmasata.util.exception.MethodNotImplementedException;
+import com.mmasata.util.helper.FootprintHelper;
+import com.mmasata.util.iterator.ArenaStringIterator;
+import com.mmasata.util.model.MemoryFootprint;
+import lombok.NoArgsConstructor;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * String-specialized variant of SortedLinkedList keeping the records off the Java heap.
+ * <p>
+ * The UTF-8 bytes of the records are stored in a Utf8Arena, the heap holds only one sorted array of long addresses.
+ * No String or Node object is kept per record, so the work of the garbage collector does not grow with the number of records.
+ * Records are searched by binary search comparing the UTF-8 bytes directly, in the order of AlphabeticalOrderStringComparator,
+ * and Strings are materialized only by get(), iteration and toArray().
+ * <p>
+ * Removed records stay in the arena until compact(). clear(), compact() and close() free the released chunks right away,
+ * close() releases the arena and the list can not be used afterwards.
+ * Strings with unpaired surrogates are rejected, as UTF-8 can not represent them.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public class OffHeapStringSortedList implements SortedLinkedList<String>, Closeable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final Comparator<String> COMPARATOR = new AlphabeticalOrderStringComparator();
+
+    private int chunkSize;
+
+    private Utf8Arena arena;
+
+    private long[] addresses;
+
+    private int size = 0;
+
+    private long garbageBytes = 0;
+
+    private boolean closed = false;
+
+
+    /**
+     * Static method constructing data structure for Strings
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static OffHeapStringSortedList createForStrings() {
+        return createForStrings(Utf8Arena.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Static method constructing data structure for Strings
+     * Using a custom size of the off-heap chunks.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static OffHeapStringSortedList createForStrings(int chunkSize) {
+        var sortedLinkedList = new OffHeapStringSortedList();
+        sortedLinkedList.chunkSize = chunkSize;
+        sortedLinkedList.arena = new Utf8Arena(chunkSize);
+        sortedLinkedList.addresses = new long[INITIAL_CAPACITY];
+        return sortedLinkedList;
+    }
+
+    /**
+     * @return Returns off-heap bytes allocated by the list
+     */
+    public long offHeapBytes() {
+        return arena.capacityBytes();
+    }
+
+    /**
+     * @return Returns off-heap bytes of removed records, which are reclaimed by compact()
+     */
+    public long garbageBytes() {
+        return garbageBytes;
+    }
+
+    /**
+     * @return Returns the number of items in SortedLinkedList
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if SortedLinkedList is empty (has no record in it)
+     *
+     * @return Returns true if it has no records. Otherwise, returns false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Materializes the String at the given index in O(1)
+     *
+     * @param index Searched index
+     * @return Returns an entry at the specified index
+     */
+    @Override
+    public String get(int index) {
+        ensureOpen();
+        Objects.checkIndex(index, size);
+        return arena.read(addresses[index]);
+    }
+
+    /**
+     * Sets a new value on the given index
+     *
+     * @param index Searched index
+     * @param value New value
+     */
+    @Override
+    public void set(int index, String value) {
+        ensureOpen();
+        Objects.checkIndex(index, size);
+
+        //encode first, so an invalid value does not remove the old one
+        var utf8 = value == null ? null : Utf8Arena.encode(value);
+
+        //to keep ordered we need to reorder
+        removeAt(index);
+        insert(utf8);
+    }
+
+    /**
+     * Add new record to the SortedLinkedList, the record is found by binary search and the following addresses are shifted
+     *
+     * @param s element whose presence in this collection is to be ensured
+     * @return Returns true if the addition to SortedLinkedList was successful
+     */
+    @Override
+    public boolean add(String s) {
+        ensureOpen();
+        insert(s == null ? null : Utf8Arena.encode(s));
+        return true;
+    }
+
+    /**
+     * Add new Collection of records to the SortedLinkedList.
+     * The Collection is sorted, appended to the arena and merged with the existing addresses in one linear pass.
+     *
+     * @param c collection containing elements to be added to this collection
+     * @return Returns true if adding to SortedLinkedList was successful for all elements
+     */
+    @Override
+    public boolean addAll(Collection<? extends String> c) {
+        ensureOpen();
+
+        var incoming = c.toArray(new String[0]);
+        Arrays.sort(incoming, COMPARATOR);
+
+        var encoded = new byte[incoming.length][];
+        for (var idx = 0; idx < incoming.length; idx++) {
+            encoded[idx] = incoming[idx] == null ? null : Utf8Arena.encode(incoming[idx]);
+        }
+
+        var merged = new long[Math.max(INITIAL_CAPACITY, size + incoming.length)];
+        var existing = 0;
+        var position = 0;
+
+        for (var utf8 : encoded) {
+            var address = utf8 == null ? Utf8Arena.NULL_ADDRESS : arena.append(utf8);
+
+            //new records are placed in front of equal records, same as add()
+            while (existing < size && arena.compare(addresses[existing], address) < 0) {
+                merged[position++] = addresses[existing++];
+            }
+            merged[position++] = address;
+        }
+
+        System.arraycopy(addresses, existing, merged, position, size - existing);
+        addresses = merged;
+        size += incoming.length;
+        return true;
+    }
+
+    /**
+     * Checks if the item exists in the SortedLinkedList in O(log n) without materializing any String.
+     *
+     * @param o Element whose presence in this collection is to be tested
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Checks if the all items in the Collection exists in the SortedLinkedList. If yes, it returns true, otherwise false.
+     *
+     * @param c collection to be checked for containment in this collection
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return c.stream().allMatch(this::contains);
+    }
+
+    /**
+     * Attempts to find an entry in SortedLinkedList. If it finds it, then deletes it.
+     *
+     * @param o element to be removed from this collection, if present
+     * @return Returns true if the record was deleted, otherwise returns false and the record does not exist in SortedLinkedList
+     */
+    @Override
+    public boolean remove(Object o) {
+        var index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Attempts to find each entry in the Collection in SortedLinkedList. If it finds it, then deletes it.
+     *
+     * @param c collection containing elements to be removed from this collection
+     * @return Returns true if the records was deleted, otherwise returns false.
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return c.stream().allMatch(this::remove);
+    }
+
+    /**
+     * Releases the whole arena and clears the entire SortedLinkedList
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        arena.release();
+        addresses = new long[INITIAL_CAPACITY];
+        size = 0;
+        garbageBytes = 0;
+    }
+
+    /**
+     * @return Returns AlphabeticalOrderStringComparator, the only order supported by the byte comparison
+     */
+    @Override
+    public Comparator<String> comparator() {
+        return COMPARATOR;
+    }
+
+    /**
+     * The records themselves are off-heap and not part of the estimate, see offHeapBytes()
+     *
+     * @return Returns an estimate of the heap occupied by the collection, split into its structure (including the arena chunk handles) and the address array
+     */
+    @Override
+    public MemoryFootprint estimateFootprint() {
+        var footprintHelper = new FootprintHelper();
+
+        //list itself (arena, addresses, chunkSize, size, garbageBytes, closed)
+        var structureBytes = footprintHelper.objectFootprint(2, 2 * Integer.BYTES + Long.BYTES + 1);
+
+        //arena (chunks, bufferHelper, current, chunkSize, usedBytes, capacityBytes) with the stateless helper, its ArrayList and one DirectByteBuffer with its Cleaner per chunk
+        structureBytes += footprintHelper.objectFootprint(3, Integer.BYTES + 2 * Long.BYTES)
+                + footprintHelper.objectFootprint(0, 0)
+                + footprintHelper.objectFootprint(1, 2 * Integer.BYTES)
+                + footprintHelper.referenceArrayFootprint(arena.chunks())
+                + arena.chunks() * (footprintHelper.objectFootprint(4, 5 * Integer.BYTES + 2 * Long.BYTES + 3)
+                + footprintHelper.objectFootprint(4, 0));
+
+        return new MemoryFootprint(structureBytes, footprintHelper.longArrayFootprint(addresses.length), 0);
+    }
+
+    /**
+     * Copies the live records into a fresh arena in the list order, which reclaims removed records and makes iteration sequential,
+     * and trims the address array
+     */
+    @Override
+    public void compact() {
+        ensureOpen();
+
+        var compacted = new Utf8Arena(chunkSize);
+        var compactedAddresses = new long[Math.max(INITIAL_CAPACITY, size)];
+
+        for (var idx = 0; idx < size; idx++) {
+            var address = addresses[idx];
+            compactedAddresses[idx] = address == Utf8Arena.NULL_ADDRESS ? address : compacted.append(arena.bytes(address));
+        }
+
+        arena.release();
+        arena = compacted;
+        addresses = compactedAddresses;
+        garbageBytes = 0;
+    }
+
+    /**
+     * Releases the arena, the list can not be used afterwards
+     */
+    @Override
+    public void close() {
+        arena.release();
+        addresses = new long[0];
+        size = 0;
+        garbageBytes = 0;
+        closed = true;
+    }
+
+    /**
+     * @return Returns iterator for SortedLinkedList, Strings are materialized one by one
+     */
+    @Override
+    public Iterator<String> iterator() {
+        ensureOpen();
+        return new ArenaStringIterator(arena, addresses, size);
+    }
+
+    @Override
+    public Object[] toArray() {
+        ensureOpen();
+
+        var array = new Object[size];
+        for (var idx = 0; idx < size; idx++) {
+            array[idx] = arena.read(addresses[idx]);
+        }
+
+        return array;
+    }
+
+    @Override
+    public <T1> T1[] toArray(T1[] a) {
+        throw new MethodNotImplementedException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new MethodNotImplementedException();
+    }
+
+    private void insert(byte[] utf8) {
+        var position = lowerBound(utf8);
+        var address = utf8 == null ? Utf8Arena.NULL_ADDRESS : arena.append(utf8);
+
+        if (size == addresses.length) {
+            addresses = Arrays.copyOf(addresses, addresses.length + (addresses.length >> 1));
+        }
+
+        System.arraycopy(addresses, position, addresses, position + 1, size - position);
+        addresses[position] = address;
+        size++;
+    }
+
+    private void removeAt(int index) {
+        garbageBytes += arena.recordBytes(addresses[index]);
+        System.arraycopy(addresses, index + 1, addresses, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * @return Returns index of the first record not sorted before the probe
+     */
+    private int lowerBound(byte[] probe) {
+        var low = 0;
+        var high = size;
+
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (arena.compare(addresses[middle], probe) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * @return Returns index of a record equal to the value or -1, values other than Strings are never contained
+     */
+    private int indexOf(Object o) {
+        ensureOpen();
+
+        if (o != null && !(o instanceof String)) {
+            return -1;
+        }
+
+        byte[] probe;
+        try {
+            probe = o == null ? null : Utf8Arena.encode((String) o);
+        } catch (IllegalArgumentException e) {
+            //unpaired surrogates are never stored
+            return -1;
+        }
+
+        var index = lowerBound(probe);
+        return index < size && arena.compare(addresses[index], probe) == 0 ? index : -1;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("SortedLinkedList is closed");
+        }
+    }
+
+}
@@ -0,0 +1,305 @@
+package com.mmasata.util;
+
+import com.mmasata.util.comparator.AlphabeticalOrderStringComparator;
+import com.mmasata.util.comparator.AscOrderIntegerComparator;
+import com.mmasata.util.exception.MethodNotImplementedException;
+import com.mmasata.util.helper.FootprintHelper;
+import com.mmasata.util.helper.RunLengthListHelper;
+import com.mmasata.util.iterator.RunLengthIterator;
+import com.mmasata.util.model.MemoryFootprint;
+import com.mmasata.util.model.RunNode;
+import lombok.NoArgsConstructor;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Multiset variant of SortedLinkedList for workloads with many duplicate values.
+ * <p>
+ * Equal records (according to the Comparator) are stored only once together with the number of their occurrences,
+ * so memory and traversal costs depend on the number of distinct values instead of the number of records.
+ * The iterator expands the runs lazily, so from the outside the list behaves the same as SortedLinkedListImpl.
+ * <p>
+ * The Comparator must be consistent with equals, as only the first inserted of the equal records is kept.
+ *
+ * @param <T>
+ */
+@NoArgsConstructor(access = PRIVATE)
+public class RunLengthSortedLinkedList<T> implements SortedLinkedList<T> {
+
+    private Comparator<T> comparator;
+
+    private RunLengthListHelper helper;
+
+    private RunNode<T> head;
+
+    private int size = 0;
+
+    private int distinctSize = 0;
+
+
+    /**
+     * Static method constructing data structure for Strings
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static RunLengthSortedLinkedList<String> createForStrings() {
+        return createForStrings(new AlphabeticalOrderStringComparator());
+    }
+
+    /**
+     * Static method constructing data structure for Strings
+     * Using a custom comparator.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static RunLengthSortedLinkedList<String> createForStrings(Comparator<String> customComparator) {
+        return create(customComparator);
+    }
+
+    /**
+     * Static method constructing data structure for Integers
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static RunLengthSortedLinkedList<Integer> createForInts() {
+        return createForInts(new AscOrderIntegerComparator());
+    }
+
+    /**
+     * Static method constructing data structure for Integers
+     * Using a custom comparator.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static RunLengthSortedLinkedList<Integer> createForInts(Comparator<Integer> customComparator) {
+        return create(customComparator);
+    }
+
+    private static <T> RunLengthSortedLinkedList<T> create(Comparator<T> customComparator) {
+        var sortedLinkedList = new RunLengthSortedLinkedList<T>();
+        sortedLinkedList.comparator = customComparator;
+        sortedLinkedList.helper = new RunLengthListHelper();
+        return sortedLinkedList;
+    }
+
+    /**
+     * @return Returns the number of items in SortedLinkedList, every occurrence is counted
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Returns the number of distinct values (runs) in SortedLinkedList
+     */
+    public int distinctSize() {
+        return distinctSize;
+    }
+
+    /**
+     * @param o Searched value
+     * @return Returns the number of occurrences of the value in SortedLinkedList
+     */
+    public int count(Object o) {
+        var searched = helper.findRunByValue(head, o);
+        return searched == null ? 0 : searched.getCount();
+    }
+
+    /**
+     * Checks if SortedLinkedList is empty (has no record in it)
+     *
+     * @return Returns true if it has no records. Otherwise, returns false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index Searched index
+     * @return Returns an entry at the specified index
+     */
+    @Override
+    public T get(int index) {
+        var node = helper.findRunByIndex(head, index);
+        return node.getValue();
+    }
+
+    /**
+     * Sets a new value on the given index
+     *
+     * @param index Searched index
+     * @param value New value
+     */
+    @Override
+    public void set(int index, T value) {
+        var node = helper.findRunByIndex(head, index);
+
+        //to keep ordered we need to reorder
+        delete(node);
+        add(value);
+    }
+
+    /**
+     * Add new record to the SortedLinkedList. If an equal value is already present, only its count is incremented.
+     *
+     * @param t element whose presence in this collection is to be ensured
+     * @return Returns true if the addition to SortedLinkedList was successful
+     */
+    @Override
+    public boolean add(T t) {
+        var run = helper.performInsert(head, comparator, t);
+        if (run.getPrev() == null) {
+            head = run;
+        }
+
+        if (run.getCount() == 1) {
+            distinctSize++;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Add new Collection of records to the SortedLinkedList
+     *
+     * @param c collection containing elements to be added to this collection
+     * @return Returns true if adding to SortedLinkedList was successful for all elements
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return c.stream().allMatch(this::add);
+    }
+
+    /**
+     * Checks if the item exists in the SortedLinkedList. If yes, it returns true, otherwise false.
+     *
+     * @param o Element whose presence in this collection is to be tested
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean contains(Object o) {
+        var searched = helper.findRunByValue(head, o);
+        return searched != null;
+    }
+
+    /**
+     * Checks if the all items in the Collection exists in the SortedLinkedList. If yes, it returns true, otherwise false.
+     *
+     * @param c collection to be checked for containment in this collection
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return c.stream().allMatch(this::contains);
+    }
+
+    /**
+     * Attempts to find an entry in SortedLinkedList. If it finds it, then deletes one occurrence of it.
+     *
+     * @param o element to be removed from this collection, if present
+     * @return Returns true if the record was deleted, otherwise returns false and the record does not exist in SortedLinkedList
+     */
+    @Override
+    public boolean remove(Object o) {
+        var searched = helper.findRunByValue(head, o);
+        if (searched == null) {
+            return false;
+        }
+
+        delete(searched);
+        return true;
+    }
+
+    /**
+     * Attempts to find each entry in the Collection in SortedLinkedList. If it finds it, then deletes it.
+     *
+     * @param c collection containing elements to be removed from this collection
+     * @return Returns true if the records was deleted, otherwise returns false.
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return c.stream().allMatch(this::remove);
+    }
+
+    /**
+     * Sets the value of all runs to null and finally clears the entire SortedLinkedList
+     */
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+
+        helper.performClear(head);
+        head = null;
+        size = 0;
+        distinctSize = 0;
+    }
+
+    /**
+     * @return Returns the comparator used to sort the records in the collection.
+     */
+    @Override
+    public Comparator<T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * @return Returns an estimate of the heap occupied by the collection, split into its structure, RunNodes and stored values
+     */
+    @Override
+    public MemoryFootprint estimateFootprint() {
+        var footprintHelper = new FootprintHelper();
+
+        //list itself (comparator, helper, head, size, distinctSize) and the stateless helper
+        var structureBytes = footprintHelper.objectFootprint(3, 2 * Integer.BYTES) + footprintHelper.objectFootprint(0, 0);
+        return new MemoryFootprint(structureBytes, 0, 0).plus(footprintHelper.estimateRuns(head));
+    }
+
+    /**
+     * Rebuilds the chain into freshly allocated RunNodes in the list order to restore memory locality after heavy churn
+     */
+    @Override
+    public void compact() {
+        head = helper.performCompact(head);
+    }
+
+    /**
+     * @return Returns iterator expanding the runs lazily
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new RunLengthIterator<>(head);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return helper.convertToArray(head, size);
+    }
+
+    @Override
+    public <T1> T1[] toArray(T1[] a) {
+        throw new MethodNotImplementedException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new MethodNotImplementedException();
+    }
+
+    private void delete(RunNode<T> node) {
+        if (node.getCount() == 1) {
+            distinctSize--;
+        }
+
+        head = helper.performDelete(head, node);
+        size--;
+    }
+
+}
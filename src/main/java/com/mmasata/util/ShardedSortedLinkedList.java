@@ -0,0 +1,675 @@
+package com.mmasata.util;
+
+import com.mmasata.util.comparator.AlphabeticalOrderStringComparator;
+import com.mmasata.util.comparator.AscOrderIntegerComparator;
+import com.mmasata.util.exception.MethodNotImplementedException;
+import com.mmasata.util.helper.FootprintHelper;
+import com.mmasata.util.model.MemoryFootprint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe SortedLinkedList partitioned by value ranges into independent shards.
+ * <p>
+ * Every shard is a SortedLinkedListImpl owning one range of the key space and guarded by its own lock, so writes into different ranges run in parallel.
+ * Shards which grow over the shard capacity are split at their median, shards which become nearly empty are merged with their neighbour.
+ * <p>
+ * Positional access and iteration stitch the shards together in range order. The Comparator must be consistent with equals, as values are routed to shards by the Comparator.
+ *
+ * @param <T> Generic value of the collection
+ */
+public class ShardedSortedLinkedList<T> implements SortedLinkedList<T> {
+
+    public static final int DEFAULT_SHARD_CAPACITY = 1024;
+
+    private final Comparator<T> comparator;
+
+    private final int shardCapacity;
+
+    /**
+     * Guards the shard boundaries. Regular operations hold the read lock, rebalancing holds the write lock.
+     */
+    private final ReentrantReadWriteLock topologyLock = new ReentrantReadWriteLock();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private List<Shard<T>> shards;
+
+    private int rebalances = 0;
+
+
+    private ShardedSortedLinkedList(Comparator<T> comparator,
+                                    int shardCapacity) {
+
+        if (shardCapacity < 2) {
+            throw new IllegalArgumentException("Shard capacity must be at least 2");
+        }
+
+        this.comparator = comparator;
+        this.shardCapacity = shardCapacity;
+        this.shards = List.of(new Shard<>(SortedLinkedListImpl.create(comparator)));
+    }
+
+    /**
+     * Static method constructing data structure for Strings
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static ShardedSortedLinkedList<String> createForStrings() {
+        return createForStrings(new AlphabeticalOrderStringComparator());
+    }
+
+    /**
+     * Static method constructing data structure for Strings
+     * Using a custom comparator.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static ShardedSortedLinkedList<String> createForStrings(Comparator<String> customComparator) {
+        return createForStrings(customComparator, DEFAULT_SHARD_CAPACITY);
+    }
+
+    /**
+     * Static method constructing data structure for Strings
+     * Using a custom comparator and maximal number of records in one shard.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static ShardedSortedLinkedList<String> createForStrings(Comparator<String> customComparator,
+                                                                   int shardCapacity) {
+        return new ShardedSortedLinkedList<>(customComparator, shardCapacity);
+    }
+
+    /**
+     * Static method constructing data structure for Integers
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static ShardedSortedLinkedList<Integer> createForInts() {
+        return createForInts(new AscOrderIntegerComparator());
+    }
+
+    /**
+     * Static method constructing data structure for Integers
+     * Using a custom comparator.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static ShardedSortedLinkedList<Integer> createForInts(Comparator<Integer> customComparator) {
+        return createForInts(customComparator, DEFAULT_SHARD_CAPACITY);
+    }
+
+    /**
+     * Static method constructing data structure for Integers
+     * Using a custom comparator and maximal number of records in one shard.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static ShardedSortedLinkedList<Integer> createForInts(Comparator<Integer> customComparator,
+                                                                 int shardCapacity) {
+        return new ShardedSortedLinkedList<>(customComparator, shardCapacity);
+    }
+
+    /**
+     * @return Returns the number of items in SortedLinkedList
+     */
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Checks if SortedLinkedList is empty (has no record in it)
+     *
+     * @return Returns true if it has no records. Otherwise, returns false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    /**
+     * @return Returns the current number of shards
+     */
+    public int shardCount() {
+        topologyLock.readLock().lock();
+        try {
+            return shards.size();
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Returns the number of rebalancing passes performed so far
+     */
+    int rebalances() {
+        topologyLock.readLock().lock();
+        try {
+            return rebalances;
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Shards are locked in range order until the index is reached, so the result is consistent with concurrent writes.
+     *
+     * @param index Searched index
+     * @return Returns an entry at the specified index
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        topologyLock.readLock().lock();
+        var locked = new ArrayList<Shard<T>>();
+        try {
+            var remaining = index;
+            for (var shard : shards) {
+                shard.lock.lock();
+                locked.add(shard);
+
+                if (remaining < shard.list.size()) {
+                    return shard.list.get(remaining);
+                }
+                remaining -= shard.list.size();
+            }
+
+            throw new IndexOutOfBoundsException();
+        } finally {
+            locked.forEach(shard -> shard.lock.unlock());
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sets a new value on the given index. The old record is removed and the new value is inserted into the shard owning its range.
+     * Both steps run under the topology write lock, so no concurrent write can shift the index or take the record in between.
+     *
+     * @param index Searched index
+     * @param value New value
+     */
+    @Override
+    public void set(int index, T value) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        topologyLock.writeLock().lock();
+        try {
+            var remaining = index;
+            Shard<T> owner = null;
+            for (var shard : shards) {
+                if (remaining < shard.list.size()) {
+                    owner = shard;
+                    break;
+                }
+                remaining -= shard.list.size();
+            }
+
+            if (owner == null) {
+                throw new IndexOutOfBoundsException();
+            }
+
+            //the cursor unlinks exactly the record at the index, not just any equal one
+            var cursor = owner.list.listIterator(remaining);
+            cursor.next();
+            cursor.remove();
+            owner.unsplittable = false;
+
+            var target = route(value);
+            target.list.add(value);
+            target.unsplittable = false;
+
+            if (target.list.size() > shardCapacity || (owner.list.size() < minimalShardSize() && shards.size() > 1)) {
+                rebalance();
+            }
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add new record to the shard owning its range
+     *
+     * @param t element whose presence in this collection is to be ensured
+     * @return Returns true if the addition to SortedLinkedList was successful
+     */
+    @Override
+    public boolean add(T t) {
+        boolean overfull;
+
+        topologyLock.readLock().lock();
+        try {
+            var shard = route(t);
+            shard.lock.lock();
+            try {
+                shard.list.add(t);
+
+                //only a value different from the equal run can make a previously impossible split possible
+                if (shard.unsplittable && comparator.compare(t, shard.unsplittableRun) != 0) {
+                    shard.unsplittable = false;
+                }
+                overfull = shard.list.size() > shardCapacity && !shard.unsplittable;
+            } finally {
+                shard.lock.unlock();
+            }
+            size.incrementAndGet();
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+
+        if (overfull) {
+            rebalance();
+        }
+        return true;
+    }
+
+    /**
+     * Add new Collection of records to the SortedLinkedList
+     *
+     * @param c collection containing elements to be added to this collection
+     * @return Returns true if adding to SortedLinkedList was successful for all elements
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return c.stream().allMatch(this::add);
+    }
+
+    /**
+     * Checks if the item exists in the shard owning its range. A value of a foreign type is not contained.
+     *
+     * @param o Element whose presence in this collection is to be tested
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean contains(Object o) {
+        topologyLock.readLock().lock();
+        try {
+            var shard = routeForeign(o);
+            if (shard == null) {
+                return false;
+            }
+
+            shard.lock.lock();
+            try {
+                return shard.list.contains(o);
+            } finally {
+                shard.lock.unlock();
+            }
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if the all items in the Collection exists in the SortedLinkedList. If yes, it returns true, otherwise false.
+     *
+     * @param c collection to be checked for containment in this collection
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return c.stream().allMatch(this::contains);
+    }
+
+    /**
+     * Attempts to find an entry in the shard owning its range. If it finds it, then deletes it.
+     *
+     * @param o element to be removed from this collection, if present
+     * @return Returns true if the record was deleted, otherwise returns false and the record does not exist in SortedLinkedList
+     */
+    @Override
+    public boolean remove(Object o) {
+        boolean removed;
+        boolean underfull;
+
+        topologyLock.readLock().lock();
+        try {
+            var shard = routeForeign(o);
+            if (shard == null) {
+                return false;
+            }
+
+            shard.lock.lock();
+            try {
+                removed = shard.list.remove(o);
+                if (removed) {
+                    shard.unsplittable = false;
+                }
+                underfull = shard.list.size() < minimalShardSize() && shards.size() > 1;
+            } finally {
+                shard.lock.unlock();
+            }
+
+            if (removed) {
+                size.decrementAndGet();
+            }
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+
+        if (removed && underfull) {
+            rebalance();
+        }
+        return removed;
+    }
+
+    /**
+     * Attempts to find each entry in the Collection in SortedLinkedList. If it finds it, then deletes it.
+     *
+     * @param c collection containing elements to be removed from this collection
+     * @return Returns true if the records was deleted, otherwise returns false.
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return c.stream().allMatch(this::remove);
+    }
+
+    /**
+     * Removes the matching records shard by shard, every shard is filtered in one pass under its own lock.
+     * Writes into other shards run in parallel, so the result is not an atomic snapshot of the whole list.
+     *
+     * @param filter Predicate returning true for records to be removed
+     * @return Returns true if any record was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        var removed = false;
+        var underfull = false;
+
+        topologyLock.readLock().lock();
+        try {
+            for (var shard : shards) {
+                shard.lock.lock();
+                try {
+                    var sizeBefore = shard.list.size();
+                    if (shard.list.removeIf(filter)) {
+                        removed = true;
+                        shard.unsplittable = false;
+                        size.addAndGet(shard.list.size() - sizeBefore);
+                    }
+                    underfull |= shard.list.size() < minimalShardSize() && shards.size() > 1;
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+
+        if (removed && underfull) {
+            rebalance();
+        }
+        return removed;
+    }
+
+    /**
+     * Clears all shards and returns to a single empty shard
+     */
+    @Override
+    public void clear() {
+        topologyLock.writeLock().lock();
+        try {
+            shards.forEach(shard -> shard.list.clear());
+            shards = List.of(new Shard<>(SortedLinkedListImpl.create(comparator)));
+            size.set(0);
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Returns the comparator used to sort the records in the collection.
+     */
+    @Override
+    public Comparator<T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * All shards are locked in range order for the time of estimation.
+     *
+     * @return Returns an estimate of the heap occupied by the collection, split into its structure (including shard table and locks), Nodes and stored values
+     */
+    @Override
+    public MemoryFootprint estimateFootprint() {
+        var footprintHelper = new FootprintHelper();
+
+        topologyLock.readLock().lock();
+        try {
+            //list itself (comparator, topology lock, size, shards, shardCapacity, rebalances), read-write lock, size counter and shard table
+            var structureBytes = footprintHelper.objectFootprint(4, 2 * Integer.BYTES)
+                    + 2 * FootprintHelper.LOCK
+                    + footprintHelper.objectFootprint(0, Integer.BYTES)
+                    + footprintHelper.objectFootprint(1, 0)
+                    + footprintHelper.referenceArrayFootprint(shards.size());
+            var footprint = new MemoryFootprint(structureBytes, 0, 0);
+
+            for (var shard : shards) {
+                shard.lock.lock();
+                try {
+                    //shard itself (list, lock, upper bound, unsplittable run and flag) and its lock
+                    var shardBytes = footprintHelper.objectFootprint(4, 1) + FootprintHelper.LOCK;
+                    footprint = footprint
+                            .plus(new MemoryFootprint(shardBytes, 0, 0))
+                            .plus(shard.list.estimateFootprint());
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+
+            return footprint;
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the chains of all shards into freshly allocated Nodes. Blocks all other operations for the time of compaction.
+     */
+    @Override
+    public void compact() {
+        topologyLock.writeLock().lock();
+        try {
+            shards.forEach(shard -> shard.list.compact());
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Returns iterator over a consistent snapshot of all shards in range order, it does not support remove(), use removeIf or remove
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<T> iterator() {
+        return Arrays.stream(toArray())
+                .map(value -> (T) value)
+                .iterator();
+    }
+
+    /**
+     * All shards are locked in range order for the time of copying, so the result is a consistent snapshot.
+     */
+    @Override
+    public Object[] toArray() {
+        topologyLock.readLock().lock();
+        try {
+            shards.forEach(shard -> shard.lock.lock());
+            try {
+                var array = new Object[shards.stream().mapToInt(shard -> shard.list.size()).sum()];
+                var offset = 0;
+
+                for (var shard : shards) {
+                    var part = shard.list.toArray();
+                    System.arraycopy(part, 0, array, offset, part.length);
+                    offset += part.length;
+                }
+
+                return array;
+            } finally {
+                shards.forEach(shard -> shard.lock.unlock());
+            }
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public <T1> T1[] toArray(T1[] a) {
+        throw new MethodNotImplementedException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new MethodNotImplementedException();
+    }
+
+    /**
+     * Finds the shard owning the range of the value via binary search over the shard upper bounds.
+     * Must be called under the topology lock.
+     */
+    private Shard<T> route(T value) {
+        var low = 0;
+        var high = shards.size() - 1;
+
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (comparator.compare(value, shards.get(middle).upperBound) <= 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return shards.get(low);
+    }
+
+    /**
+     * Routes a value of unknown type, see contains and remove
+     *
+     * @return Returns the shard owning the range of the value or null if the Comparator rejects its type
+     */
+    @SuppressWarnings("unchecked")
+    private Shard<T> routeForeign(Object value) {
+        try {
+            return route((T) value);
+        } catch (ClassCastException e) {
+            return null;
+        }
+    }
+
+    private int minimalShardSize() {
+        return shardCapacity / 4;
+    }
+
+    /**
+     * Merges nearly empty neighbouring shards and splits overfull shards at their median.
+     * If the median falls into the trailing run of equal records, the shard is split in front of the run instead.
+     * A shard holding a single value cannot be split, it is marked, so adding more equal records does not rebalance again.
+     */
+    private void rebalance() {
+        topologyLock.writeLock().lock();
+        try {
+            rebalances++;
+            var merged = new ArrayList<Shard<T>>();
+            for (var shard : shards) {
+                var previous = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+
+                if (previous != null
+                        && (previous.list.size() < minimalShardSize() || shard.list.size() < minimalShardSize())
+                        && previous.list.size() + shard.list.size() <= shardCapacity) {
+                    previous.list.concat(shard.list);
+                    previous.upperBound = shard.upperBound;
+                    previous.unsplittable = false;
+                    continue;
+                }
+
+                merged.add(shard);
+            }
+
+            var rebalanced = new ArrayList<Shard<T>>();
+            for (var shard : merged) {
+                var current = shard;
+                while (current.list.size() > shardCapacity) {
+                    var detached = current.list.splitAfter(current.list.size() / 2 - 1);
+
+                    //all records behind the median are equal, the only bound left is in front of their run
+                    if (detached == null) {
+                        var runStart = trailingRunStart(current.list);
+                        if (runStart == 0) {
+                            current.unsplittable = true;
+                            current.unsplittableRun = current.list.get(current.list.size() - 1);
+                            break;
+                        }
+                        detached = current.list.splitAfter(runStart - 1);
+                    }
+
+                    var upper = new Shard<>(detached);
+                    upper.upperBound = current.upperBound;
+                    current.upperBound = current.list.get(current.list.size() - 1);
+
+                    rebalanced.add(current);
+                    current = upper;
+                }
+                rebalanced.add(current);
+            }
+
+            shards = List.copyOf(rebalanced);
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Returns the index of the first record of the run of records equal to the last one, counted from the end
+     */
+    private int trailingRunStart(SortedLinkedListImpl<T> list) {
+        var cursor = list.listIterator(list.size());
+        var last = cursor.previous();
+        var runStart = list.size() - 1;
+
+        while (cursor.hasPrevious() && comparator.compare(cursor.previous(), last) == 0) {
+            runStart--;
+        }
+        return runStart;
+    }
+
+    /**
+     * One range of the key space. Holds values greater than the upper bound of the previous shard and lower or equal to its own upper bound.
+     * The upper bound of the last shard is never used for routing.
+     */
+    private static class Shard<T> {
+
+        private final SortedLinkedListImpl<T> list;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private T upperBound;
+
+        /**
+         * Set when the last split failed, the shard is not split again while only values equal to the run are added
+         */
+        private boolean unsplittable = false;
+
+        private T unsplittableRun;
+
+        private Shard(SortedLinkedListImpl<T> list) {
+            this.list = list;
+        }
+    }
+
+}
@@ -0,0 +1,332 @@
+package com.mmasata.util;
+
+import com.mmasata.util.comparator.AlphabeticalOrderStringComparator;
+import com.mmasata.util.comparator.AscOrderIntegerComparator;
+import com.mmasata.util.exception.MethodNotImplementedException;
+import com.mmasata.util.helper.FootprintHelper;
+import com.mmasata.util.iterator.SortedArrayIterator;
+import com.mmasata.util.model.MemoryFootprint;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Array backed variant of SortedLinkedList for read-heavy workloads.
+ * <p>
+ * The records are kept in one contiguous array, so positional access costs O(1) and searching O(log n) via binary search.
+ * Inserts and deletes shift the following records, which is O(n), but done by a single memory copy.
+ *
+ * @param <T> Generic value of the collection
+ */
+@NoArgsConstructor(access = PRIVATE)
+public class SortedArrayList<T> implements SortedLinkedList<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Comparator<T> comparator;
+
+    private Object[] elements;
+
+    private int size = 0;
+
+
+    /**
+     * Static method constructing data structure for Strings
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static SortedArrayList<String> createForStrings() {
+        return createForStrings(new AlphabeticalOrderStringComparator());
+    }
+
+    /**
+     * Static method constructing data structure for Strings
+     * Using a custom comparator.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static SortedArrayList<String> createForStrings(Comparator<String> customComparator) {
+        return create(customComparator);
+    }
+
+    /**
+     * Static method constructing data structure for Integers
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static SortedArrayList<Integer> createForInts() {
+        return createForInts(new AscOrderIntegerComparator());
+    }
+
+    /**
+     * Static method constructing data structure for Integers
+     * Using a custom comparator.
+     *
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static SortedArrayList<Integer> createForInts(Comparator<Integer> customComparator) {
+        return create(customComparator);
+    }
+
+    static <T> SortedArrayList<T> create(Comparator<T> customComparator) {
+        var sortedArrayList = new SortedArrayList<T>();
+        sortedArrayList.comparator = customComparator;
+        sortedArrayList.elements = new Object[INITIAL_CAPACITY];
+        return sortedArrayList;
+    }
+
+    /**
+     * Replaces the content of this (empty) list with already sorted values.
+     */
+    SortedArrayList<T> link(Iterator<? extends T> sortedValues,
+                            int sortedSize) {
+        elements = new Object[Math.max(INITIAL_CAPACITY, sortedSize)];
+        size = 0;
+        sortedValues.forEachRemaining(value -> elements[size++] = value);
+        return this;
+    }
+
+    /**
+     * @return Returns the number of items in SortedLinkedList
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if SortedLinkedList is empty (has no record in it)
+     *
+     * @return Returns true if it has no records. Otherwise, returns false
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index Searched index
+     * @return Returns an entry at the specified index in O(1)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return (T) elements[index];
+    }
+
+    /**
+     * Sets a new value on the given index
+     *
+     * @param index Searched index
+     * @param value New value
+     */
+    @Override
+    public void set(int index, T value) {
+        Objects.checkIndex(index, size);
+
+        //to keep ordered we need to reorder
+        removeAt(index);
+        add(value);
+    }
+
+    /**
+     * Add new record to the SortedLinkedList in front of all equal records
+     *
+     * @param t element whose presence in this collection is to be ensured
+     * @return Returns true if the addition to SortedLinkedList was successful
+     */
+    @Override
+    public boolean add(T t) {
+        var position = lowerBound(t);
+
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length + (elements.length >> 1));
+        }
+
+        System.arraycopy(elements, position, elements, position + 1, size - position);
+        elements[position] = t;
+        size++;
+        return true;
+    }
+
+    /**
+     * Add new Collection of records to the SortedLinkedList
+     *
+     * @param c collection containing elements to be added to this collection
+     * @return Returns true if adding to SortedLinkedList was successful for all elements
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return c.stream().allMatch(this::add);
+    }
+
+    /**
+     * Checks if the item exists in the SortedLinkedList in O(log n).
+     *
+     * @param o Element whose presence in this collection is to be tested
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Checks if the all items in the Collection exists in the SortedLinkedList. If yes, it returns true, otherwise false.
+     *
+     * @param c collection to be checked for containment in this collection
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return c.stream().allMatch(this::contains);
+    }
+
+    /**
+     * Attempts to find an entry in SortedLinkedList. If it finds it, then deletes it.
+     *
+     * @param o element to be removed from this collection, if present
+     * @return Returns true if the record was deleted, otherwise returns false and the record does not exist in SortedLinkedList
+     */
+    @Override
+    public boolean remove(Object o) {
+        var index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Attempts to find each entry in the Collection in SortedLinkedList. If it finds it, then deletes it.
+     *
+     * @param c collection containing elements to be removed from this collection
+     * @return Returns true if the records was deleted, otherwise returns false.
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return c.stream().allMatch(this::remove);
+    }
+
+    /**
+     * Sets all used slots to null and finally clears the entire SortedLinkedList
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * @return Returns the comparator used to sort the records in the collection.
+     */
+    @Override
+    public Comparator<T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * @return Returns an estimate of the heap occupied by the collection, split into its structure, backing array and stored values
+     */
+    @Override
+    public MemoryFootprint estimateFootprint() {
+        var footprintHelper = new FootprintHelper();
+
+        //list itself (comparator, elements, size)
+        var structureBytes = footprintHelper.objectFootprint(2, Integer.BYTES);
+        var valueBytes = 0L;
+        for (var idx = 0; idx < size; idx++) {
+            valueBytes += footprintHelper.valueFootprint(elements[idx]);
+        }
+
+        return new MemoryFootprint(structureBytes, footprintHelper.referenceArrayFootprint(elements.length), valueBytes);
+    }
+
+    /**
+     * Trims the backing array to the number of records
+     */
+    @Override
+    public void compact() {
+        elements = Arrays.copyOf(elements, Math.max(INITIAL_CAPACITY, size));
+    }
+
+    /**
+     * @return Returns iterator for SortedLinkedList, remove() shifts the records behind the removed one in O(n)
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new SortedArrayIterator<>(elements, size, this::removeAt);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public <T1> T1[] toArray(T1[] a) {
+        throw new MethodNotImplementedException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new MethodNotImplementedException();
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+    }
+
+    /**
+     * @return Returns index of the first record not sorted before the value
+     */
+    @SuppressWarnings("unchecked")
+    private int lowerBound(T value) {
+        var low = 0;
+        var high = size;
+
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (comparator.compare((T) elements[middle], value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * @return Returns index of a record equal to the value or -1, also for a value of another type
+     */
+    @SuppressWarnings("unchecked")
+    private int indexOf(Object o) {
+        var value = (T) o;
+
+        try {
+            //records equal by Comparator form a run, search it for the one equal by equals
+            for (var idx = lowerBound(value); idx < size && comparator.compare((T) elements[idx], value) == 0; idx++) {
+                if (Objects.equals(elements[idx], o)) {
+                    return idx;
+                }
+            }
+        } catch (ClassCastException e) {
+            //the Comparator cannot compare the value, so it is not in the list
+            return -1;
+        }
+
+        return -1;
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.mmasata.util;
+
+import com.mmasata.util.model.MemoryFootprint;
+import lombok.NoArgsConstructor;
+
+import java.io.Closeable;
+import java.util.PrimitiveIterator;
+import java.util.stream.DoubleStream;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Sorted list of primitive doubles (e.g. prices) kept off the Java heap.
+ * <p>
+ * Every double is stored in SortedLongList as a long whose signed order equals the order of Double.compare
+ * (-0.0 before 0.0, NaN after positive infinity), so all operations and their costs are those of SortedLongList.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public class SortedDoubleList implements Closeable {
+
+    private SortedLongList values;
+
+
+    /**
+     * Static method constructing data structure for doubles
+     *
+     * @return Returns an instance of SortedDoubleList
+     */
+    public static SortedDoubleList createForDoubles() {
+        return createForDoubles(SortedLongList.DEFAULT_BLOCK_CAPACITY);
+    }
+
+    /**
+     * Static method constructing data structure for doubles
+     * Using a custom block capacity.
+     *
+     * @param blockCapacity Number of values in one off-heap block
+     * @return Returns an instance of SortedDoubleList
+     */
+    public static SortedDoubleList createForDoubles(int blockCapacity) {
+        var sortedDoubleList = new SortedDoubleList();
+        sortedDoubleList.values = SortedLongList.createForLongs(blockCapacity);
+        return sortedDoubleList;
+    }
+
+    /**
+     * @return Returns the number of values
+     */
+    public long size() {
+        return values.size();
+    }
+
+    /**
+     * @return Returns true if the list has no value
+     */
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * @param value Value to add
+     */
+    public void add(double value) {
+        values.add(toKey(value));
+    }
+
+    /**
+     * @param value Searched value
+     * @return Returns true if the value is in the list, compared as by Double.compare
+     */
+    public boolean contains(double value) {
+        return values.contains(toKey(value));
+    }
+
+    /**
+     * @param value Value to remove
+     * @return Returns true if the value was removed
+     */
+    public boolean remove(double value) {
+        return values.remove(toKey(value));
+    }
+
+    /**
+     * @param index Index of the value
+     * @return Returns the value at the given index
+     */
+    public double get(long index) {
+        return toValue(values.get(index));
+    }
+
+    /**
+     * @param fromInclusive Lower bound
+     * @param toInclusive   Upper bound
+     * @return Returns sorted stream of the values between the bounds
+     */
+    public DoubleStream range(double fromInclusive,
+                              double toInclusive) {
+        return values.range(toKey(fromInclusive), toKey(toInclusive)).mapToDouble(SortedDoubleList::toValue);
+    }
+
+    /**
+     * @param fromInclusive Lower bound
+     * @param toInclusive   Upper bound
+     * @return Returns the number of values between the bounds
+     */
+    public long count(double fromInclusive,
+                      double toInclusive) {
+        return values.count(toKey(fromInclusive), toKey(toInclusive));
+    }
+
+    /**
+     * @return Returns sorted stream of all values
+     */
+    public DoubleStream stream() {
+        return values.stream().mapToDouble(SortedDoubleList::toValue);
+    }
+
+    /**
+     * @return Returns iterator over all values
+     */
+    public PrimitiveIterator.OfDouble iterator() {
+        return stream().iterator();
+    }
+
+    /**
+     * Frees all blocks
+     */
+    public void clear() {
+        values.clear();
+    }
+
+    /**
+     * Moves the values into completely filled blocks and frees the previous blocks
+     */
+    public void compact() {
+        values.compact();
+    }
+
+    /**
+     * @return Returns off-heap bytes allocated by the list
+     */
+    public long offHeapBytes() {
+        return values.offHeapBytes();
+    }
+
+    /**
+     * @return Returns an estimate of the heap occupied by the list, the values themselves are off-heap
+     */
+    public MemoryFootprint estimateFootprint() {
+        return values.estimateFootprint();
+    }
+
+    /**
+     * Frees all blocks, the list can not be used afterwards
+     */
+    @Override
+    public void close() {
+        values.close();
+    }
+
+    /**
+     * Flips all bits except the sign of negative numbers, so the signed order of the keys equals Double.compare
+     */
+    private static long toKey(double value) {
+        var bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static double toValue(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+}
@@ -1,5 +1,8 @@
 package com.mmasata.util;
 
+import com.mmasata.util.helper.FootprintHelper;
+import com.mmasata.util.model.MemoryFootprint;
+
 import java.util.Collection;
 import java.util.Comparator;
 
@@ -23,4 +26,31 @@ public interface SortedLinkedList<T> extends Collection<T> {
      * @param value New value
      */
     void set(int index, T value);
+
+    /**
+     * The default implementation does not know the internal layout, so it conservatively counts one Node per record
+     * and the values reached by iteration. Implementations should override it with an estimate of their own layout.
+     *
+     * @return Returns an estimate of the heap occupied by the collection, split into its structure, Nodes and stored values
+     */
+    default MemoryFootprint estimateFootprint() {
+        var footprintHelper = new FootprintHelper();
+
+        var valueBytes = 0L;
+        for (var value : this) {
+            valueBytes += footprintHelper.valueFootprint(value);
+        }
+
+        //value, prev and next references and the tombstone flag per record
+        var nodeBytes = size() * footprintHelper.objectFootprint(3, 1);
+        return new MemoryFootprint(footprintHelper.objectFootprint(0, 0), nodeBytes, valueBytes);
+    }
+
+    /**
+     * Rebuilds the internal chain into freshly allocated containers in the list order.
+     * Restores memory locality after heavy churn, the content and order stay the same.
+     * The default implementation does nothing.
+     */
+    default void compact() {
+    }
 }
@@ -3,19 +3,39 @@ package com.mmasata.util;
 import com.mmasata.util.comparator.AlphabeticalOrderStringComparator;
 import com.mmasata.util.comparator.AscOrderIntegerComparator;
 import com.mmasata.util.exception.MethodNotImplementedException;
+import com.mmasata.util.feed.ChangeFeedPublisher;
+import com.mmasata.util.feed.ChangeFeedSnapshot;
+import com.mmasata.util.feed.ChangeType;
+import com.mmasata.util.filter.CountingBloomFilter;
+import com.mmasata.util.helper.FootprintHelper;
+import com.mmasata.util.helper.ParallelMergeTask;
 import com.mmasata.util.helper.SortedLinkedListHelper;
+import com.mmasata.util.iterator.MergingIterator;
 import com.mmasata.util.iterator.SortedLinkedListIterator;
+import com.mmasata.util.iterator.SortedSpliterator;
+import com.mmasata.util.model.FilterStats;
+import com.mmasata.util.model.MemoryFootprint;
 import com.mmasata.util.model.Node;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static lombok.AccessLevel.PRIVATE;
 
@@ -31,14 +51,44 @@ import static lombok.AccessLevel.PRIVATE;
 @NoArgsConstructor(access = PRIVATE)
 public class SortedLinkedListImpl<T> implements SortedLinkedList<T> {
 
+    /**
+     * Below this number of records the bulk construction sorts sequentially, the fork-join overhead would not pay off.
+     */
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+
     private Comparator<T> comparator;
 
     private SortedLinkedListHelper helper;
 
     private Node<T> head;
 
+    /**
+     * Last Node of the chain (it may be a tombstone), null for an empty chain
+     */
+    private Node<T> tail;
+
     private int size = 0;
 
+    private boolean lazyDelete = false;
+
+    private double maxTombstoneRatio;
+
+    private int tombstones = 0;
+
+    private CountingBloomFilter membershipFilter;
+
+    private ChangeFeedPublisher<T> changeFeed;
+
+    /**
+     * Last inserted Node, the next insert starts its search from here (null if it was unlinked)
+     */
+    private Node<T> lastInserted;
+
+    /**
+     * Index of the last inserted Node, -1 if it is not known
+     */
+    private int lastInsertedRank = -1;
+
 
     /**
      * Static method constructing data structure for Strings
@@ -56,10 +106,7 @@ public class SortedLinkedListImpl<T> implements SortedLinkedList<T> {
      * @return Returns an instance of SortedLinkedList
      */
     public static SortedLinkedListImpl<String> createForStrings(Comparator<String> customComparator) {
-        var sortedLinkedList = new SortedLinkedListImpl<String>();
-        sortedLinkedList.comparator = customComparator;
-        sortedLinkedList.helper = new SortedLinkedListHelper();
-        return sortedLinkedList;
+        return create(customComparator);
     }
 
     /**
@@ -78,12 +125,415 @@ public class SortedLinkedListImpl<T> implements SortedLinkedList<T> {
      * @return Returns an instance of SortedLinkedList
      */
     public static SortedLinkedListImpl<Integer> createForInts(Comparator<Integer> customComparator) {
-        var sortedLinkedList = new SortedLinkedListImpl<Integer>();
+        return create(customComparator);
+    }
+
+    /**
+     * Static method constructing data structure for Strings from an unsorted Collection.
+     * <p>
+     * The values are sorted at once (in parallel for large inputs) and linked in one linear pass instead of inserting them one by one.
+     *
+     * @param values Unsorted values
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static SortedLinkedListImpl<String> fromStrings(Collection<String> values) {
+        return fromStrings(values, new AlphabeticalOrderStringComparator());
+    }
+
+    /**
+     * Static method constructing data structure for Strings from an unsorted Collection.
+     * Using a custom comparator.
+     *
+     * @param values Unsorted values
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static SortedLinkedListImpl<String> fromStrings(Collection<String> values,
+                                                           Comparator<String> customComparator) {
+        return from(values, customComparator);
+    }
+
+    /**
+     * Static method constructing data structure for Integers from an unsorted Collection.
+     * <p>
+     * The values are sorted at once (in parallel for large inputs) and linked in one linear pass instead of inserting them one by one.
+     *
+     * @param values Unsorted values
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static SortedLinkedListImpl<Integer> fromInts(Collection<Integer> values) {
+        return fromInts(values, new AscOrderIntegerComparator());
+    }
+
+    /**
+     * Static method constructing data structure for Integers from an unsorted Collection.
+     * Using a custom comparator.
+     *
+     * @param values Unsorted values
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static SortedLinkedListImpl<Integer> fromInts(Collection<Integer> values,
+                                                         Comparator<Integer> customComparator) {
+        return from(values, customComparator);
+    }
+
+    /**
+     * Static method constructing data structure for Integers from an unsorted primitive array.
+     * <p>
+     * The values are sorted as primitives (in parallel for large inputs), so no comparator calls are needed. The default AscOrderIntegerComparator is used,
+     * its order is the same as the primitive order over the whole int range.
+     *
+     * @param values Unsorted values, the array is not modified
+     * @return Returns an instance of SortedLinkedList
+     */
+    public static SortedLinkedListImpl<Integer> fromInts(int[] values) {
+        var sorted = values.clone();
+        if (sorted.length < PARALLEL_SORT_THRESHOLD) {
+            Arrays.sort(sorted);
+        } else {
+            Arrays.parallelSort(sorted);
+        }
+
+        return create(new AscOrderIntegerComparator()).link(Arrays.stream(sorted).boxed().iterator(), sorted.length);
+    }
+
+    /**
+     * Lazily merges several SortedLinkedLists sorted by the same rule into one sorted Stream.
+     * <p>
+     * The merge is driven by a heap of the list heads, so every element costs O(log k), where k is the number of lists.
+     * The lists must not be modified while the Stream is consumed.
+     *
+     * @param lists Lists sorted by the same rule, the Comparator of the first list is used
+     * @return Returns a sequential Stream reporting SORTED with the Comparator of the first list
+     * @throws IllegalArgumentException if no list is given or the lists do not share an equal Comparator
+     */
+    @SafeVarargs
+    public static <T> Stream<T> merge(SortedLinkedList<T>... lists) {
+        var sources = new ArrayList<SortedLinkedList<T>>(lists.length);
+        for (var list : lists) {
+            sources.add(list);
+        }
+
+        var comparator = mergeComparator(sources);
+        var iterator = new MergingIterator<>(sources.stream().map(SortedLinkedList::iterator).toList(), comparator);
+        var spliterator = new SortedSpliterator<>(iterator, comparator, totalSize(sources));
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Merges several SortedLinkedLists sorted by the same rule into a new SortedLinkedList.
+     * <p>
+     * The new Nodes are linked directly in the merged order, so no insert search is performed and the whole merge is O(n log k).
+     *
+     * @param lists Lists sorted by the same rule, the Comparator of the first list is used
+     * @return Returns a new instance of SortedLinkedList containing all records of the given lists
+     * @throws IllegalArgumentException if no list is given or the lists do not share an equal Comparator
+     */
+    @SafeVarargs
+    public static <T> SortedLinkedListImpl<T> mergeToList(SortedLinkedList<T>... lists) {
+        var sources = new ArrayList<SortedLinkedList<T>>(lists.length);
+        for (var list : lists) {
+            sources.add(list);
+        }
+
+        var comparator = mergeComparator(sources);
+        var iterator = new MergingIterator<>(sources.stream().map(SortedLinkedList::iterator).toList(), comparator);
+
+        return create(comparator).link(iterator, Math.toIntExact(totalSize(sources)));
+    }
+
+    /**
+     * Merges several SortedLinkedLists sorted by the same rule into a new SortedLinkedList using the common ForkJoinPool.
+     * <p>
+     * The lists are copied into arrays which are merged pairwise in parallel, the result is then linked in one linear pass.
+     * Intended for very large inputs, for small inputs prefer {@link #mergeToList(SortedLinkedList[])}.
+     *
+     * @param lists Lists sorted by the same rule, the Comparator of the first list is used
+     * @return Returns a new instance of SortedLinkedList containing all records of the given lists
+     * @throws IllegalArgumentException if no list is given or the lists do not share an equal Comparator
+     */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    public static <T> SortedLinkedListImpl<T> parallelMergeToList(SortedLinkedList<T>... lists) {
+        var sources = new ArrayList<SortedLinkedList<T>>(lists.length);
+        for (var list : lists) {
+            sources.add(list);
+        }
+
+        var comparator = mergeComparator(sources);
+        var arrays = sources.parallelStream()
+                .map(SortedLinkedList::toArray)
+                .toArray(Object[][]::new);
+
+        var merged = ForkJoinPool.commonPool().invoke(new ParallelMergeTask<>(arrays, comparator));
+
+        return create(comparator).link(Arrays.stream(merged).map(value -> (T) value).iterator(), merged.length);
+    }
+
+    static <T> SortedLinkedListImpl<T> create(Comparator<T> customComparator) {
+        var sortedLinkedList = new SortedLinkedListImpl<T>();
         sortedLinkedList.comparator = customComparator;
         sortedLinkedList.helper = new SortedLinkedListHelper();
         return sortedLinkedList;
     }
 
+    @SuppressWarnings("unchecked")
+    private static <T> SortedLinkedListImpl<T> from(Collection<? extends T> values,
+                                                    Comparator<T> customComparator) {
+        var sorted = (T[]) values.toArray();
+        if (sorted.length < PARALLEL_SORT_THRESHOLD) {
+            Arrays.sort(sorted, customComparator);
+        } else {
+            Arrays.parallelSort(sorted, customComparator);
+        }
+
+        return create(customComparator).link(Arrays.asList(sorted).iterator(), sorted.length);
+    }
+
+    /**
+     * @return Returns the Comparator shared by all lists, lists sorted by a different rule would produce an unsorted result
+     */
+    private static <T> Comparator<T> mergeComparator(List<SortedLinkedList<T>> lists) {
+        if (lists.isEmpty()) {
+            throw new IllegalArgumentException("At least one SortedLinkedList is required for merge");
+        }
+
+        var comparator = lists.get(0).comparator();
+        for (var list : lists) {
+            if (!Objects.equals(comparator, list.comparator())) {
+                throw new IllegalArgumentException("All merged SortedLinkedLists must be sorted by an equal Comparator");
+            }
+        }
+
+        return comparator;
+    }
+
+    private static long totalSize(List<? extends SortedLinkedList<?>> lists) {
+        return lists.stream().mapToLong(SortedLinkedList::size).sum();
+    }
+
+    /**
+     * Replaces the content of this (empty) SortedLinkedList with a chain linked from already sorted values.
+     */
+    SortedLinkedListImpl<T> link(Iterator<? extends T> sortedValues,
+                                 int sortedSize) {
+        head = helper.performLink(sortedValues);
+        tail = helper.findTail(head);
+        size = sortedSize;
+        lastInserted = null;
+        return this;
+    }
+
+    /**
+     * Turns on lazy deletion. Removed records are only marked as tombstones, which are skipped by all operations,
+     * and unlinked in one bulk pass once they exceed the given ratio of all Nodes in the chain.
+     * <p>
+     * The purge runs on the thread of the remove exceeding the ratio, so its O(n) pass is amortized over the removes which created the tombstones.
+     * Finding the removed record still costs O(n), the lazy mode saves only the relinking of the neighbours on every remove.
+     *
+     * @param maxTombstoneRatio Ratio of tombstones to all Nodes (0 to 1), above which the tombstones are purged
+     */
+    public void enableLazyDelete(double maxTombstoneRatio) {
+        if (maxTombstoneRatio < 0 || maxTombstoneRatio > 1) {
+            throw new IllegalArgumentException("Tombstone ratio must be between 0 and 1");
+        }
+
+        this.lazyDelete = true;
+        this.maxTombstoneRatio = maxTombstoneRatio;
+    }
+
+    /**
+     * Turns off lazy deletion and purges all remaining tombstones
+     */
+    public void disableLazyDelete() {
+        lazyDelete = false;
+        purgeTombstones();
+    }
+
+    /**
+     * @return Returns the number of tombstones still linked in the chain
+     */
+    public int tombstones() {
+        return tombstones;
+    }
+
+    /**
+     * Unlinks all tombstones from the chain in one pass
+     */
+    public void purgeTombstones() {
+        if (tombstones == 0) {
+            return;
+        }
+
+        //the purge keeps exactly the live Nodes
+        var lastLive = helper.findLastLive(tail);
+        head = helper.performPurge(head);
+        tail = lastLive;
+        tombstones = 0;
+        lastInserted = null;
+    }
+
+    /**
+     * Turns on the membership filter maintained next to the list. Lookups of absent values (contains, containsAll, remove)
+     * are then mostly answered in O(1) without traversing the chain.
+     * <p>
+     * The filter is filled with the current records and doubles its capacity whenever the number of records exceeds it.
+     * The statistics start from zero on every (re)build of the filter.
+     *
+     * @param expectedInsertions       Number of records the filter is sized for
+     * @param falsePositiveProbability Probability that an absent value still has to be searched in the chain (between 0 and 1)
+     */
+    public void enableMembershipFilter(int expectedInsertions,
+                                       double falsePositiveProbability) {
+        membershipFilter = new CountingBloomFilter(Math.max(expectedInsertions, size), falsePositiveProbability);
+        new SortedLinkedListIterator<>(head).forEachRemaining(membershipFilter::add);
+    }
+
+    /**
+     * Turns off the membership filter and releases it
+     */
+    public void disableMembershipFilter() {
+        membershipFilter = null;
+    }
+
+    /**
+     * @return Returns statistics of the membership filter or null if the filter is not enabled
+     */
+    public FilterStats membershipFilterStats() {
+        return membershipFilter == null ? null : membershipFilter.stats();
+    }
+
+    /**
+     * Turns on the change feed delivered on the common ForkJoinPool
+     *
+     * @param bufferCapacity Maximal number of changes buffered per subscriber
+     * @param maxBatchSize   Maximal number of changes delivered in one batch
+     * @return Returns the publisher of the changes
+     */
+    public ChangeFeedPublisher<T> enableChangeFeed(int bufferCapacity,
+                                                   int maxBatchSize) {
+        return enableChangeFeed(bufferCapacity, maxBatchSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Turns on the change feed. Every insert, delete, set and clear is then published with the rank of the affected record,
+     * so subscribers can maintain a copy of the list without polling it. While there is a subscriber, the rank of an insert is counted
+     * from the previously inserted record over the stretch the insert galloped over, a remove costs one more traversal of the chain.
+     * Writes never wait for subscribers, see ChangeFeedPublisher.
+     * <p>
+     * Operations detaching or attaching whole chains (used internally by ShardedSortedLinkedList) are not published.
+     *
+     * @param bufferCapacity Maximal number of changes buffered per subscriber
+     * @param maxBatchSize   Maximal number of changes delivered in one batch
+     * @param executor       Executor delivering the batches to subscribers
+     * @return Returns the publisher of the changes
+     */
+    public ChangeFeedPublisher<T> enableChangeFeed(int bufferCapacity,
+                                                   int maxBatchSize,
+                                                   Executor executor) {
+        disableChangeFeed();
+        changeFeed = new ChangeFeedPublisher<>(bufferCapacity, maxBatchSize, executor);
+        return changeFeed;
+    }
+
+    /**
+     * Turns off the change feed, subscribers are completed after receiving the changes buffered so far
+     */
+    public void disableChangeFeed() {
+        if (changeFeed != null) {
+            changeFeed.close();
+            changeFeed = null;
+        }
+    }
+
+    /**
+     * @return Returns the publisher of the changes or null if the change feed is not enabled
+     */
+    public ChangeFeedPublisher<T> changeFeed() {
+        return changeFeed;
+    }
+
+    /**
+     * Copies the records together with the sequence of the last published change, so a subscriber terminated by
+     * ChangeFeedOverflowException can resynchronize: subscribe again, take the snapshot and apply only the changes with a greater sequence.
+     * Like all other operations it must not run concurrently with writes.
+     *
+     * @return Returns the snapshot of the records or null if the change feed is not enabled
+     */
+    public ChangeFeedSnapshot<T> changeFeedSnapshot() {
+        if (changeFeed == null) {
+            return null;
+        }
+
+        var values = new ArrayList<T>(size);
+        new SortedLinkedListIterator<>(head).forEachRemaining(values::add);
+        return new ChangeFeedSnapshot<>(changeFeed.lastSequence(), Collections.unmodifiableList(values));
+    }
+
+    /**
+     * Detaches all records behind the record at the given index into a new SortedLinkedList.
+     * Records equal (according to the Comparator) to the record at the given index stay in this list, so both parts are separated by a strict bound.
+     *
+     * @param index Index of the last record which stays in this list
+     * @return Returns a new SortedLinkedList with the detached records or null if there is nothing to detach
+     */
+    SortedLinkedListImpl<T> splitAfter(int index) {
+        purgeTombstones();
+
+        var last = helper.findNodeByIndex(head, index);
+        var kept = index + 1;
+
+        while (last.getNext() != null && comparator.compare(last.getNext().getValue(), last.getValue()) == 0) {
+            last = last.getNext();
+            kept++;
+        }
+
+        if (last.getNext() == null) {
+            return null;
+        }
+
+        var detached = create(comparator);
+        detached.head = last.getNext();
+        detached.head.setPrev(null);
+        detached.tail = tail;
+        detached.size = size - kept;
+
+        last.setNext(null);
+        tail = last;
+        size = kept;
+        lastInserted = null;
+        rebuildMembershipFilter(size);
+        return detached;
+    }
+
+    /**
+     * Moves all records of the other SortedLinkedList behind the last record of this list, the other list is left empty.
+     * All records of the other list must be sorted after the records of this list.
+     *
+     * @param other SortedLinkedList to drain
+     */
+    void concat(SortedLinkedListImpl<T> other) {
+        purgeTombstones();
+        other.purgeTombstones();
+
+        if (other.head != null) {
+            //the tail has no next Node, so nothing is traversed
+            if (tail == null) {
+                head = other.head;
+            } else {
+                helper.performConcat(tail, other.head);
+            }
+            tail = other.tail;
+        }
+        size += other.size;
+
+        other.head = null;
+        other.tail = null;
+        other.size = 0;
+        other.lastInserted = null;
+        rebuildMembershipFilter(size);
+        other.rebuildMembershipFilter(0);
+    }
+
     /**
      * @return Returns the number of items in SortedLinkedList
      */
@@ -122,33 +572,76 @@ public class SortedLinkedListImpl<T> implements SortedLinkedList<T> {
     public void set(int index, T value) {
         var node = helper.findNodeByIndex(head, index);
 
+        if (membershipFilter != null) {
+            membershipFilter.remove(node.getValue());
+            membershipFilter.add(value);
+        }
+
+        var previousValue = node.getValue();
+
         //to keep ordered we need to reorder
-        head = helper.performDelete(head, node);
-        head = helper.performInsert(head, comparator, value);
+        fingerRemoved(node, index);
+        delete(node);
+
+        var publish = changeFeed != null && changeFeed.hasSubscribers();
+        var rank = insert(value, publish);
+
+        if (publish) {
+            changeFeed.publish(ChangeType.SET, rank, value, index, previousValue);
+        }
     }
 
     /**
-     * Add new record to the SortedLinkedList
+     * Add new record to the SortedLinkedList.
+     * The search starts from the previously inserted record, so presorted or nearly sorted input is inserted in O(1) per record.
      *
      * @param t element whose presence in this collection is to be ensured
      * @return Returns true if the addition to SortedLinkedList was successful
      */
     @Override
     public boolean add(T t) {
-        head = helper.performInsert(head, comparator, t);
+        var publish = changeFeed != null && changeFeed.hasSubscribers();
+        var rank = insert(t, publish);
         size++;
+
+        if (publish) {
+            changeFeed.publish(ChangeType.INSERT, rank, t, -1, null);
+        }
+
+        if (membershipFilter != null) {
+            membershipFilter.add(t);
+
+            //keep the false positive probability by doubling the filter once it is over its capacity
+            if (size > membershipFilter.expectedInsertions()) {
+                rebuildMembershipFilter(2 * size);
+            }
+        }
         return true;
     }
 
     /**
-     * Add new Collection of records to the SortedLinkedList
+     * Add new Collection of records to the SortedLinkedList.
+     * The Collection is split into presorted runs. A run sorted after the last record is linked as a whole behind it,
+     * other runs are merged in by inserting their records one after another, each search starting from the previous record.
+     * Nearly sorted input is therefore added in close to O(n) in total.
      *
      * @param c collection containing elements to be added to this collection
      * @return Returns true if adding to SortedLinkedList was successful for all elements
      */
     @Override
     public boolean addAll(Collection<? extends T> c) {
-        return c.stream().allMatch(this::add);
+        var run = new ArrayList<T>();
+
+        for (var value : c) {
+            if (!run.isEmpty() && comparator.compare(run.get(run.size() - 1), value) > 0) {
+                addRun(run);
+                run.clear();
+            }
+            run.add(value);
+        }
+
+        addRun(run);
+        return true;
     }
 
     /**
@@ -159,7 +652,7 @@ public class SortedLinkedListImpl<T> implements SortedLinkedList<T> {
      */
     @Override
     public boolean contains(Object o) {
-        var searched = helper.findNodeByValue(head, o);
+        var searched = findNode(o);
         return searched != null;
     }
 
@@ -176,19 +669,41 @@ public class SortedLinkedListImpl<T> implements SortedLinkedList<T> {
 
     /**
      * Attempts to find an entry in SortedLinkedList. If it finds it, then deletes it.
+     * In lazy delete mode the record is only marked as a tombstone.
      *
      * @param o element to be removed from this collection, if present
      * @return Returns true if the record was deleted, otherwise returns false and the record does not exist in SortedLinkedList
      */
     @Override
     public boolean remove(Object o) {
-        var searched = helper.findNodeByValue(head, o);
+        var searched = findNode(o);
         if (searched == null) {
             return false;
         }
 
-        head = helper.performDelete(head, searched);
+        var rank = -1;
+        if (changeFeed != null && changeFeed.hasSubscribers()) {
+            rank = helper.findIndexOfNode(head, searched);
+            changeFeed.publish(ChangeType.DELETE, rank, searched.getValue(), -1, null);
+        }
+
         size--;
+        if (membershipFilter != null) {
+            membershipFilter.remove(o);
+        }
+
+        fingerRemoved(searched, rank);
+        if (!lazyDelete) {
+            delete(searched);
+            return true;
+        }
+
+        searched.markDeleted();
+        tombstones++;
+
+        if (tombstones > maxTombstoneRatio * (size + tombstones)) {
+            purgeTombstones();
+        }
         return true;
     }
 
@@ -208,13 +723,24 @@ public class SortedLinkedListImpl<T> implements SortedLinkedList<T> {
      */
     @Override
     public void clear() {
-        if (size == 0) {
+        if (size == 0 && tombstones == 0) {
             return;
         }
 
         helper.performClear(head);
         head = null;
+        tail = null;
         size = 0;
+        lastInserted = null;
+        tombstones = 0;
+
+        if (membershipFilter != null) {
+            membershipFilter.clear();
+        }
+
+        if (changeFeed != null && changeFeed.hasSubscribers()) {
+            changeFeed.publish(ChangeType.CLEAR, -1, null, -1, null);
+        }
     }
 
     /**
@@ -226,11 +752,63 @@ public class SortedLinkedListImpl<T> implements SortedLinkedList<T> {
     }
 
     /**
-     * @return Returns iterator for SortedLinkedList
+     * @return Returns an estimate of the heap occupied by the collection, split into its structure, Nodes and stored values
+     */
+    @Override
+    public MemoryFootprint estimateFootprint() {
+        var footprintHelper = new FootprintHelper();
+
+        //list itself (comparator, helper, head, tail, last inserted and its index, filter, change feed, size, lazy delete settings) and the stateless helper
+        var structureBytes = footprintHelper.objectFootprint(7, 3 * Integer.BYTES + Double.BYTES + 1) + footprintHelper.objectFootprint(0, 0);
+
+        if (membershipFilter != null) {
+            //filter itself (counters, hash functions, capacity, probability, insertions, statistics) and its counters
+            structureBytes += footprintHelper.objectFootprint(1, 3 * Integer.BYTES + 4 * Long.BYTES)
+                    + footprintHelper.byteArrayFootprint(membershipFilter.counters());
+        }
+        return new MemoryFootprint(structureBytes, 0, 0).plus(footprintHelper.estimateNodes(head));
+    }
+
+    /**
+     * Rebuilds the chain into freshly allocated Nodes in the list order to restore memory locality after heavy churn
+     */
+    @Override
+    public void compact() {
+        //tombstones are not copied
+        head = helper.performCompact(head);
+        tail = helper.findTail(head);
+        tombstones = 0;
+        lastInserted = null;
+    }
+
+    /**
+     * @return Returns iterator for SortedLinkedList, it supports remove() in O(1)
      */
     @Override
     public Iterator<T> iterator() {
-        return new SortedLinkedListIterator<>(head);
+        return listIterator();
+    }
+
+    /**
+     * @return Returns bidirectional cursor positioned before the first record
+     */
+    public ListIterator<T> listIterator() {
+        return new Cursor(helper.findFirstLive(head), 0);
+    }
+
+    /**
+     * Finding the position costs O(index), moving the cursor, remove() and set() then cost O(1).
+     * A backward traversal from the end starts at the tail kept by the list.
+     *
+     * @param index Index of the record returned by the first call of next() (0 to size)
+     * @return Returns bidirectional cursor positioned before the record at the given index
+     */
+    public ListIterator<T> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return new Cursor(index == size ? null : helper.findNodeByIndex(head, index), index);
     }
 
     @Override
@@ -258,9 +836,40 @@ public class SortedLinkedListImpl<T> implements SortedLinkedList<T> {
         return SortedLinkedList.super.parallelStream();
     }
 
+    /**
+     * Unlinks all records matching the filter in one pass over the chain, so filtering costs O(n).
+     * Tombstones passed on the way are unlinked as well.
+     *
+     * @param filter Predicate returning true for records to be removed
+     * @return Returns true if any record was removed
+     */
     @Override
     public boolean removeIf(Predicate<? super T> filter) {
-        return SortedLinkedList.super.removeIf(filter);
+        var removed = false;
+        var kept = 0;
+        var currentNode = head;
+
+        while (currentNode != null) {
+            var nextNode = currentNode.getNext();
+
+            if (currentNode.isDeleted()) {
+                if (currentNode == lastInserted) {
+                    lastInserted = null;
+                }
+                delete(currentNode);
+                tombstones--;
+            } else if (filter.test(currentNode.getValue())) {
+                //records removed so far are already gone, so the rank is the number of records kept before
+                unlink(currentNode, kept);
+                removed = true;
+            } else {
+                kept++;
+            }
+
+            currentNode = nextNode;
+        }
+
+        return removed;
     }
 
     @Override
@@ -278,4 +887,281 @@ public class SortedLinkedListImpl<T> implements SortedLinkedList<T> {
         throw new MethodNotImplementedException();
     }
 
+    /**
+     * Unlinks the record's Node from the chain in O(1) and keeps the size, membership filter and change feed in sync
+     *
+     * @param rank Index of the record, published to the change feed
+     */
+    private void unlink(Node<T> node,
+                        int rank) {
+        var value = node.getValue();
+
+        if (changeFeed != null && changeFeed.hasSubscribers()) {
+            changeFeed.publish(ChangeType.DELETE, rank, value, -1, null);
+        }
+
+        fingerRemoved(node, rank);
+        delete(node);
+        size--;
+
+        if (membershipFilter != null) {
+            membershipFilter.remove(value);
+        }
+    }
+
+    /**
+     * Links the value into the chain, galloping from the last inserted Node if it is still a record
+     *
+     * @param withRank Whether the index of the new record is needed (by the change feed)
+     * @return Returns the index of the new record, -1 if it was not needed
+     */
+    private int insert(T value,
+                       boolean withRank) {
+        var finger = lastInserted != null && !lastInserted.isDeleted() ? lastInserted : null;
+
+        //the index of the finger is lost only by removes which were not published
+        if (withRank && finger != null && lastInsertedRank < 0) {
+            lastInsertedRank = helper.findIndexOfNode(head, finger);
+        }
+
+        var newNode = helper.performInsertFrom(head, finger, comparator, value);
+        if (newNode.getPrev() == null) {
+            head = newNode;
+        }
+        if (newNode.getNext() == null) {
+            tail = newNode;
+        }
+
+        var rank = -1;
+        if (withRank) {
+            //without a finger the insert searched from head, so counting from head costs the same
+            rank = finger == null ? helper.findIndexOfNode(head, newNode) : helper.findRankFrom(finger, lastInsertedRank, newNode);
+        }
+
+        lastInserted = newNode;
+        lastInsertedRank = rank;
+        return rank;
+    }
+
+    /**
+     * Unlinks the Node from the chain and keeps the tail in sync
+     */
+    private void delete(Node<T> node) {
+        if (node == tail) {
+            tail = node.getPrev();
+        }
+        head = helper.performDelete(head, node);
+    }
+
+    /**
+     * Keeps the insert finger and its index valid after a record was unlinked or marked as a tombstone
+     *
+     * @param rank Index of the record, -1 if it is not known
+     */
+    private void fingerRemoved(Node<T> node,
+                               int rank) {
+        if (node == lastInserted) {
+            lastInserted = null;
+            lastInsertedRank = -1;
+        } else if (rank < 0) {
+            lastInsertedRank = -1;
+        } else if (rank < lastInsertedRank) {
+            lastInsertedRank--;
+        }
+    }
+
+    /**
+     * Adds a presorted run, see addAll
+     */
+    private void addRun(List<T> run) {
+        if (run.isEmpty()) {
+            return;
+        }
+
+        //only the tombstones at the end of the chain are traversed
+        var lastLive = helper.findLastLive(tail);
+
+        if (lastLive != null && comparator.compare(run.get(0), lastLive.getValue()) <= 0) {
+            run.forEach(this::add);
+            return;
+        }
+
+        var chain = helper.performLink(run.iterator());
+        if (tail == null) {
+            head = chain;
+        } else {
+            //the tail has no next Node, so nothing is traversed
+            helper.performConcat(tail, chain);
+        }
+        tail = helper.findTail(chain);
+        lastInserted = tail;
+
+        if (changeFeed != null && changeFeed.hasSubscribers()) {
+            for (var idx = 0; idx < run.size(); idx++) {
+                changeFeed.publish(ChangeType.INSERT, size + idx, run.get(idx), -1, null);
+            }
+        }
+        size += run.size();
+        lastInsertedRank = size - 1;
+
+        if (membershipFilter != null) {
+            if (size > membershipFilter.expectedInsertions()) {
+                rebuildMembershipFilter(2 * size);
+            } else {
+                run.forEach(membershipFilter::add);
+            }
+        }
+    }
+
+    /**
+     * Searches the chain only if the membership filter (when enabled) does not rule the value out
+     */
+    private Node<T> findNode(Object o) {
+        if (membershipFilter != null && !membershipFilter.mightContain(o)) {
+            return null;
+        }
+
+        var searched = helper.findNodeByValue(head, o);
+        if (searched == null && membershipFilter != null) {
+            membershipFilter.recordFalsePositive();
+        }
+        return searched;
+    }
+
+    private void rebuildMembershipFilter(int expectedInsertions) {
+        if (membershipFilter == null) {
+            return;
+        }
+
+        enableMembershipFilter(Math.max(1, expectedInsertions), membershipFilter.falsePositiveProbability());
+    }
+
+    /**
+     * Bidirectional cursor over the chain. It keeps a reference to the Node it stands in front of,
+     * so moving, remove() and set() cost O(1). Tombstones are skipped.
+     * <p>
+     * The cursor is not fail-fast, the list must not be modified other than through the cursor while it is in use.
+     */
+    private class Cursor implements ListIterator<T> {
+
+        private Node<T> next;
+
+        private Node<T> lastReturned;
+
+        private int nextIndex;
+
+        private Cursor(Node<T> next,
+                       int nextIndex) {
+            this.next = next;
+            this.nextIndex = nextIndex;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = next;
+            next = helper.findFirstLive(next.getNext());
+            nextIndex++;
+            return lastReturned.getValue();
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public T previous() {
+            if (nextIndex == 0) {
+                throw new NoSuchElementException();
+            }
+
+            next = next == null ? helper.findLastLive(tail) : helper.findLastLive(next.getPrev());
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.getValue();
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        /**
+         * Unlinks the record last returned by next() or previous() in O(1)
+         */
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+
+            if (lastReturned == next) {
+                //returned by previous(), the cursor stands in front of it
+                next = helper.findFirstLive(next.getNext());
+            } else {
+                nextIndex--;
+            }
+
+            unlink(lastReturned, nextIndex);
+            lastReturned = null;
+        }
+
+        /**
+         * Replaces the record last returned by next() or previous() in place in O(1).
+         * The new value must keep the order, i.e. it must not be sorted before the previous record or after the next record.
+         *
+         * @param value New value
+         */
+        @Override
+        public void set(T value) {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+
+            var previousNode = helper.findLastLive(lastReturned.getPrev());
+            var nextNode = helper.findFirstLive(lastReturned.getNext());
+
+            if ((previousNode != null && comparator.compare(previousNode.getValue(), value) > 0)
+                    || (nextNode != null && comparator.compare(value, nextNode.getValue()) > 0)) {
+                throw new IllegalArgumentException("Value does not keep the order of the records");
+            }
+
+            var previousValue = lastReturned.getValue();
+            var index = lastReturned == next ? nextIndex : nextIndex - 1;
+            lastReturned.setValue(value);
+
+            if (membershipFilter != null) {
+                membershipFilter.remove(previousValue);
+                membershipFilter.add(value);
+            }
+
+            if (changeFeed != null && changeFeed.hasSubscribers()) {
+                changeFeed.publish(ChangeType.SET, index, value, index, previousValue);
+            }
+        }
+
+        /**
+         * The position of a record is given by the Comparator, so records can be added only by SortedLinkedList.add
+         */
+        @Override
+        public void add(T value) {
+            throw new UnsupportedOperationException("Records are positioned by the Comparator, use SortedLinkedList.add");
+        }
+
+    }
+
 }
@@ -0,0 +1,574 @@
+package com.mmasata.util;
+
+import com.mmasata.util.helper.DirectBufferHelper;
+import com.mmasata.util.helper.FootprintHelper;
+import com.mmasata.util.model.MemoryFootprint;
+import lombok.NoArgsConstructor;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Sorted list of primitive longs (e.g. epoch millis timestamps) kept off the Java heap.
+ * <p>
+ * The values are stored in sorted blocks of direct ByteBuffers, every block holds up to blockCapacity values.
+ * The heap holds only the first value, the number of values and the buffer of every block, so the garbage collector does not see the values at all.
+ * A value is located by binary search over the first values of the blocks and then within the block, a full block is split in half.
+ * A Fenwick tree over the block counts locates a value by its index in O(log(n / blockCapacity)).
+ * The size is a long, so the list is not limited to 2^31 values.
+ * <p>
+ * Duplicates are allowed. A block dropped by remove, clear, compact or close is freed immediately instead of waiting for the garbage collector
+ * (see DirectBufferHelper), the list can not be used after close(). The list is not thread-safe.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public class SortedLongList implements Closeable {
+
+    /**
+     * 32 KiB per block
+     */
+    public static final int DEFAULT_BLOCK_CAPACITY = 4096;
+
+    private static final int INITIAL_BLOCKS = 16;
+
+    private int blockCapacity;
+
+    private ByteBuffer[] blocks;
+
+    private long[] firstValues;
+
+    private int[] counts;
+
+    /**
+     * Fenwick tree over the counts (1-based), rebuilt whenever a block is inserted or removed
+     */
+    private long[] countTree;
+
+    private DirectBufferHelper bufferHelper;
+
+    private int blockCount = 0;
+
+    private long size = 0;
+
+    private boolean closed = false;
+
+
+    /**
+     * Static method constructing data structure for longs
+     *
+     * @return Returns an instance of SortedLongList
+     */
+    public static SortedLongList createForLongs() {
+        return createForLongs(DEFAULT_BLOCK_CAPACITY);
+    }
+
+    /**
+     * Static method constructing data structure for longs
+     * Using a custom block capacity.
+     *
+     * @param blockCapacity Number of values in one off-heap block
+     * @return Returns an instance of SortedLongList
+     */
+    public static SortedLongList createForLongs(int blockCapacity) {
+        if (blockCapacity < 2 || blockCapacity > Integer.MAX_VALUE / Long.BYTES) {
+            throw new IllegalArgumentException("Block capacity must be between 2 and " + Integer.MAX_VALUE / Long.BYTES);
+        }
+
+        var sortedLongList = new SortedLongList();
+        sortedLongList.blockCapacity = blockCapacity;
+        sortedLongList.blocks = new ByteBuffer[INITIAL_BLOCKS];
+        sortedLongList.firstValues = new long[INITIAL_BLOCKS];
+        sortedLongList.counts = new int[INITIAL_BLOCKS];
+        sortedLongList.countTree = new long[INITIAL_BLOCKS + 1];
+        sortedLongList.bufferHelper = new DirectBufferHelper();
+        return sortedLongList;
+    }
+
+    /**
+     * @return Returns the number of values
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return Returns true if the list has no value
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds the value in front of equal values in O(log n + blockCapacity)
+     *
+     * @param value Value to add
+     */
+    public void add(long value) {
+        ensureOpen();
+
+        if (blockCount == 0) {
+            insertBlock(0, ByteBuffer.allocateDirect(blockCapacity * Long.BYTES));
+        }
+
+        var block = findBlock(value);
+        if (counts[block] == blockCapacity) {
+            split(block);
+            if (value > firstValues[block + 1]) {
+                block++;
+            }
+        }
+
+        var offset = lowerBound(block, value);
+        var buffer = blocks[block];
+
+        //shift the tail of the block by one value, starting from its end
+        for (var idx = counts[block]; idx > offset; idx--) {
+            buffer.putLong(idx * Long.BYTES, buffer.getLong((idx - 1) * Long.BYTES));
+        }
+        buffer.putLong(offset * Long.BYTES, value);
+
+        updateCount(block, 1);
+        if (offset == 0) {
+            firstValues[block] = value;
+        }
+        size++;
+    }
+
+    /**
+     * @param value Searched value
+     * @return Returns true if the value is in the list, in O(log n)
+     */
+    public boolean contains(long value) {
+        ensureOpen();
+
+        var position = findFirst(value);
+        return position != null && valueAt(position[0], position[1]) == value;
+    }
+
+    /**
+     * Removes one occurrence of the value, an emptied block is released
+     *
+     * @param value Value to remove
+     * @return Returns true if the value was removed
+     */
+    public boolean remove(long value) {
+        ensureOpen();
+
+        var position = findFirst(value);
+        if (position == null || valueAt(position[0], position[1]) != value) {
+            return false;
+        }
+
+        var block = position[0];
+        var offset = position[1];
+        var buffer = blocks[block];
+
+        for (var idx = offset + 1; idx < counts[block]; idx++) {
+            buffer.putLong((idx - 1) * Long.BYTES, buffer.getLong(idx * Long.BYTES));
+        }
+
+        updateCount(block, -1);
+        size--;
+
+        if (counts[block] == 0) {
+            removeBlock(block);
+        } else if (offset == 0) {
+            firstValues[block] = buffer.getLong(0);
+        }
+        return true;
+    }
+
+    /**
+     * @param index Index of the value, the block is found by descending the count tree in O(log(n / blockCapacity))
+     * @return Returns the value at the given index
+     */
+    public long get(long index) {
+        ensureOpen();
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        //the number of leading blocks holding at most index values is the index of the block holding the value
+        var block = 0;
+        var remaining = index;
+        for (var step = Integer.highestOneBit(blockCount); step > 0; step >>= 1) {
+            var next = block + step;
+            if (next <= blockCount && countTree[next] <= remaining) {
+                block = next;
+                remaining -= countTree[next];
+            }
+        }
+
+        return valueAt(block, (int) remaining);
+    }
+
+    /**
+     * @param fromInclusive Lower bound
+     * @param toInclusive   Upper bound
+     * @return Returns sorted stream of the values between the bounds, values are read from the blocks lazily
+     */
+    public LongStream range(long fromInclusive,
+                            long toInclusive) {
+        ensureOpen();
+
+        var position = findFirst(fromInclusive);
+        if (position == null || fromInclusive > toInclusive) {
+            return LongStream.empty();
+        }
+
+        var iterator = new BlockIterator(position[0], position[1], toInclusive);
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * @param fromInclusive Lower bound
+     * @param toInclusive   Upper bound
+     * @return Returns the number of values between the bounds in O(log(n / blockCapacity) + log(blockCapacity)),
+     * the blocks between the two bounds are counted by the count tree without reading them
+     */
+    public long count(long fromInclusive,
+                      long toInclusive) {
+        ensureOpen();
+
+        if (fromInclusive > toInclusive) {
+            return 0;
+        }
+
+        var notAfter = toInclusive == Long.MAX_VALUE ? size : countBefore(toInclusive + 1);
+        return notAfter - countBefore(fromInclusive);
+    }
+
+    /**
+     * @return Returns sorted stream of all values
+     */
+    public LongStream stream() {
+        return range(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return Returns iterator over all values
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        ensureOpen();
+        return new BlockIterator(0, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Frees all blocks
+     */
+    public void clear() {
+        ensureOpen();
+
+        releaseBlocks();
+        size = 0;
+    }
+
+    /**
+     * Moves the values into completely filled blocks and frees the previous blocks, which releases the space left by removes and splits
+     */
+    public void compact() {
+        ensureOpen();
+
+        var compacted = createForLongs(blockCapacity);
+        var iterator = iterator();
+        while (iterator.hasNext()) {
+            compacted.append(iterator.nextLong());
+        }
+
+        releaseBlocks();
+        blocks = compacted.blocks;
+        firstValues = compacted.firstValues;
+        counts = compacted.counts;
+        countTree = compacted.countTree;
+        blockCount = compacted.blockCount;
+    }
+
+    /**
+     * @return Returns off-heap bytes allocated by the list
+     */
+    public long offHeapBytes() {
+        return (long) blockCount * blockCapacity * Long.BYTES;
+    }
+
+    /**
+     * The values themselves are off-heap and not part of the estimate, see offHeapBytes()
+     *
+     * @return Returns an estimate of the heap occupied by the list, split into its structure and the block index (including the buffer objects)
+     */
+    public MemoryFootprint estimateFootprint() {
+        var footprintHelper = new FootprintHelper();
+
+        //list itself (blocks, firstValues, counts, countTree, bufferHelper, blockCapacity, blockCount, size, closed) and the stateless helper
+        var structureBytes = footprintHelper.objectFootprint(5, 2 * Integer.BYTES + Long.BYTES + 1) + footprintHelper.objectFootprint(0, 0);
+
+        //index arrays and one DirectByteBuffer with its Cleaner per block
+        var indexBytes = footprintHelper.referenceArrayFootprint(blocks.length)
+                + footprintHelper.longArrayFootprint(firstValues.length)
+                + footprintHelper.intArrayFootprint(counts.length)
+                + footprintHelper.longArrayFootprint(countTree.length)
+                + blockCount * (footprintHelper.objectFootprint(4, 5 * Integer.BYTES + 2 * Long.BYTES + 3) + footprintHelper.objectFootprint(4, 0));
+
+        return new MemoryFootprint(structureBytes, indexBytes, 0);
+    }
+
+    /**
+     * Frees all blocks, the list can not be used afterwards
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        releaseBlocks();
+        size = 0;
+        closed = true;
+    }
+
+    /**
+     * Appends a value not sorted before the last one, used to fill blocks completely
+     */
+    private void append(long value) {
+        if (blockCount == 0 || counts[blockCount - 1] == blockCapacity) {
+            insertBlock(blockCount, ByteBuffer.allocateDirect(blockCapacity * Long.BYTES));
+            firstValues[blockCount - 1] = value;
+        }
+
+        var block = blockCount - 1;
+        blocks[block].putLong(counts[block] * Long.BYTES, value);
+        updateCount(block, 1);
+        size++;
+    }
+
+    private long valueAt(int block,
+                         int offset) {
+        return blocks[block].getLong(offset * Long.BYTES);
+    }
+
+    /**
+     * @return Returns the last block starting before the value (or the first block), the value belongs to it
+     */
+    private int findBlock(long value) {
+        var low = 0;
+        var high = blockCount;
+
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (firstValues[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return Math.max(0, low - 1);
+    }
+
+    /**
+     * @return Returns index of the first value of the block not sorted before the given value
+     */
+    private int lowerBound(int block,
+                           long value) {
+        var low = 0;
+        var high = counts[block];
+
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (valueAt(block, middle) < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * @return Returns the number of values sorted before the given value, the blocks in front of its block are summed by the count tree
+     */
+    private long countBefore(long value) {
+        if (blockCount == 0) {
+            return 0;
+        }
+
+        var block = findBlock(value);
+        return prefixCount(block) + lowerBound(block, value);
+    }
+
+    /**
+     * @return Returns block and offset of the first value not sorted before the given value, null if there is none
+     */
+    private int[] findFirst(long value) {
+        if (blockCount == 0) {
+            return null;
+        }
+
+        var block = findBlock(value);
+        var offset = lowerBound(block, value);
+
+        if (offset == counts[block]) {
+            if (block + 1 == blockCount) {
+                return null;
+            }
+            return new int[]{block + 1, 0};
+        }
+
+        return new int[]{block, offset};
+    }
+
+    /**
+     * Moves the upper half of a full block into a new block behind it
+     */
+    private void split(int block) {
+        var upper = ByteBuffer.allocateDirect(blockCapacity * Long.BYTES);
+        var kept = counts[block] / 2;
+        var moved = counts[block] - kept;
+
+        for (var idx = 0; idx < moved; idx++) {
+            upper.putLong(idx * Long.BYTES, valueAt(block, kept + idx));
+        }
+
+        insertBlock(block + 1, upper);
+        updateCount(block, -moved);
+        updateCount(block + 1, moved);
+        firstValues[block + 1] = upper.getLong(0);
+    }
+
+    private void insertBlock(int block,
+                             ByteBuffer buffer) {
+        if (blockCount == blocks.length) {
+            var capacity = blocks.length + (blocks.length >> 1);
+            blocks = Arrays.copyOf(blocks, capacity);
+            firstValues = Arrays.copyOf(firstValues, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            countTree = new long[capacity + 1];
+        }
+
+        System.arraycopy(blocks, block, blocks, block + 1, blockCount - block);
+        System.arraycopy(firstValues, block, firstValues, block + 1, blockCount - block);
+        System.arraycopy(counts, block, counts, block + 1, blockCount - block);
+
+        blocks[block] = buffer;
+        counts[block] = 0;
+        blockCount++;
+        rebuildCountTree();
+    }
+
+    private void removeBlock(int block) {
+        var buffer = blocks[block];
+        System.arraycopy(blocks, block + 1, blocks, block, blockCount - block - 1);
+        System.arraycopy(firstValues, block + 1, firstValues, block, blockCount - block - 1);
+        System.arraycopy(counts, block + 1, counts, block, blockCount - block - 1);
+
+        blocks[--blockCount] = null;
+        rebuildCountTree();
+        bufferHelper.release(buffer);
+    }
+
+    /**
+     * Frees all blocks and leaves the list without any
+     */
+    private void releaseBlocks() {
+        for (var block = 0; block < blockCount; block++) {
+            bufferHelper.release(blocks[block]);
+            blocks[block] = null;
+        }
+        blockCount = 0;
+    }
+
+    /**
+     * Changes the count of the block and of the count tree nodes covering it in O(log(n / blockCapacity))
+     */
+    private void updateCount(int block,
+                             int delta) {
+        counts[block] += delta;
+        for (var node = block + 1; node <= blockCount; node += node & -node) {
+            countTree[node] += delta;
+        }
+    }
+
+    /**
+     * @return Returns the number of values in the given number of leading blocks in O(log(n / blockCapacity))
+     */
+    private long prefixCount(int blocks) {
+        var count = 0L;
+        for (var node = blocks; node > 0; node -= node & -node) {
+            count += countTree[node];
+        }
+        return count;
+    }
+
+    /**
+     * Builds the count tree from the counts in O(n / blockCapacity), every node adds itself to its parent
+     */
+    private void rebuildCountTree() {
+        Arrays.fill(countTree, 0, blockCount + 1, 0);
+        for (var node = 1; node <= blockCount; node++) {
+            countTree[node] += counts[node - 1];
+
+            var parent = node + (node & -node);
+            if (parent <= blockCount) {
+                countTree[parent] += countTree[node];
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("SortedLongList is closed");
+        }
+    }
+
+    /**
+     * Iterator reading the values block by block up to an upper bound.
+     * The list must not be modified while the iterator is in use.
+     */
+    private class BlockIterator implements PrimitiveIterator.OfLong {
+
+        private final long toInclusive;
+
+        private int block;
+
+        private int offset;
+
+        private BlockIterator(int block,
+                              int offset,
+                              long toInclusive) {
+            this.block = block;
+            this.offset = offset;
+            this.toInclusive = toInclusive;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return block < blockCount && valueAt(block, offset) <= toInclusive;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            var value = valueAt(block, offset++);
+            if (offset == counts[block]) {
+                block++;
+                offset = 0;
+            }
+            return value;
+        }
+
+    }
+
+}
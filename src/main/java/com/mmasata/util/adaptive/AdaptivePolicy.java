@@ -0,0 +1,91 @@
+package com.mmasata.util.adaptive;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Thresholds deciding the representation of the adaptive SortedLinkedList.
+ * <p>
+ * Every threshold comes as a pair of entering and leaving value, so a workload oscillating around one value does not cause repeated migrations.
+ */
+@Value
+@Builder
+public class AdaptivePolicy {
+
+    /**
+     * Number of operations between two evaluations of the workload
+     */
+    @Builder.Default
+    int evaluationWindow = 1024;
+
+    /**
+     * Size from which the linked representation is left
+     */
+    @Builder.Default
+    int linkedLeaveSize = 512;
+
+    /**
+     * Size below which the linked representation is entered again
+     */
+    @Builder.Default
+    int linkedEnterSize = 128;
+
+    /**
+     * Share of positional operations, with which the linked representation is left already from the linked enter size
+     */
+    @Builder.Default
+    double positionalLeaveRatio = 0.5;
+
+    /**
+     * Share of writes below which the array representation is entered
+     */
+    @Builder.Default
+    double arrayEnterWriteRatio = 0.1;
+
+    /**
+     * Share of writes above which the array representation is left
+     */
+    @Builder.Default
+    double arrayLeaveWriteRatio = 0.3;
+
+    /**
+     * @return Returns the policy with default thresholds
+     */
+    public static AdaptivePolicy defaults() {
+        return AdaptivePolicy.builder().build();
+    }
+
+    /**
+     * Decides the representation for the observed workload
+     *
+     * @param current         Current representation
+     * @param size            Number of records
+     * @param writeRatio      Share of writes in the evaluated window
+     * @param positionalRatio Share of positional operations in the evaluated window
+     * @return Returns the representation which should be used
+     */
+    public Representation decide(Representation current,
+                                 int size,
+                                 double writeRatio,
+                                 double positionalRatio) {
+
+        if (current == Representation.LINKED) {
+            var leave = size >= linkedLeaveSize || (size >= linkedEnterSize && positionalRatio >= positionalLeaveRatio);
+            if (!leave) {
+                return Representation.LINKED;
+            }
+            return writeRatio <= arrayEnterWriteRatio ? Representation.ARRAY : Representation.INDEXED;
+        }
+
+        if (size < linkedEnterSize) {
+            return Representation.LINKED;
+        }
+
+        if (current == Representation.ARRAY) {
+            return writeRatio > arrayLeaveWriteRatio ? Representation.INDEXED : Representation.ARRAY;
+        }
+
+        return writeRatio < arrayEnterWriteRatio ? Representation.ARRAY : Representation.INDEXED;
+    }
+
+}
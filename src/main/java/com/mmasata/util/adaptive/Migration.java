@@ -0,0 +1,27 @@
+package com.mmasata.util.adaptive;
+
+import lombok.Value;
+
+/**
+ * Record of one migration between representations together with the workload which caused it
+ */
+@Value
+public class Migration {
+
+    Representation from;
+
+    Representation to;
+
+    int size;
+
+    /**
+     * Share of write operations (add, remove, set, clear) in the evaluated window
+     */
+    double writeRatio;
+
+    /**
+     * Share of positional operations (get, set) in the evaluated window
+     */
+    double positionalRatio;
+
+}
@@ -0,0 +1,19 @@
+package com.mmasata.util.adaptive;
+
+/**
+ * Internal layouts the adaptive SortedLinkedList can migrate between
+ */
+public enum Representation {
+    /**
+     * Plain chain of Nodes (SortedLinkedListImpl), cheapest for small lists
+     */
+    LINKED,
+    /**
+     * Contiguous sorted array (SortedArrayList), O(1) positional access and O(log n) search, for read-heavy lists
+     */
+    ARRAY,
+    /**
+     * Indexed skip list (AggregatingSortedLinkedList), O(log n) for all operations, for large write-heavy lists
+     */
+    INDEXED,
+}
@@ -0,0 +1,32 @@
+package com.mmasata.util.aggregate;
+
+/**
+ * Associative aggregation of records with an identity element.
+ * <p>
+ * Used to maintain partial aggregates inside of data structures, so the combine operation must be associative,
+ * but it does not have to be commutative nor invertible.
+ *
+ * @param <T> Generic value of the collection
+ * @param <A> Aggregate value
+ */
+public interface Monoid<T, A> {
+
+    /**
+     * @return Returns aggregate of no records
+     */
+    A identity();
+
+    /**
+     * @param value Single record
+     * @return Returns aggregate of the single record
+     */
+    A lift(T value);
+
+    /**
+     * @param left  Aggregate of preceding records
+     * @param right Aggregate of following records
+     * @return Returns aggregate of both parts
+     */
+    A combine(A left, A right);
+
+}
@@ -0,0 +1,109 @@
+package com.mmasata.util.aggregate;
+
+import com.mmasata.util.model.IntAggregate;
+
+import java.util.Comparator;
+
+/**
+ * Factory class for creating built-in library monoids.
+ */
+public class MonoidFactory {
+
+    /**
+     * @return Returns Monoid counting records
+     */
+    public static <T> Monoid<T, Long> count() {
+        return new Monoid<>() {
+            @Override
+            public Long identity() {
+                return 0L;
+            }
+
+            @Override
+            public Long lift(T value) {
+                return 1L;
+            }
+
+            @Override
+            public Long combine(Long left, Long right) {
+                return left + right;
+            }
+        };
+    }
+
+    /**
+     * @return Returns Monoid computing count, sum, min and max of Integers at once
+     */
+    public static Monoid<Integer, IntAggregate> intAggregate() {
+        return new Monoid<>() {
+            @Override
+            public IntAggregate identity() {
+                return IntAggregate.EMPTY;
+            }
+
+            @Override
+            public IntAggregate lift(Integer value) {
+                return value == null
+                        ? new IntAggregate(1, 0, null, null)
+                        : new IntAggregate(1, value, value, value);
+            }
+
+            @Override
+            public IntAggregate combine(IntAggregate left, IntAggregate right) {
+                return new IntAggregate(left.getCount() + right.getCount(),
+                        left.getSum() + right.getSum(),
+                        pick(left.getMin(), right.getMin(), true),
+                        pick(left.getMax(), right.getMax(), false));
+            }
+
+            private Integer pick(Integer left, Integer right, boolean lower) {
+                if (left == null || right == null) {
+                    return left == null ? right : left;
+                }
+                return lower == left < right ? left : right;
+            }
+        };
+    }
+
+    /**
+     * @param comparator Comparator deciding the minimum
+     * @return Returns Monoid keeping the minimal record, null stands for no record
+     */
+    public static <T> Monoid<T, T> min(Comparator<T> comparator) {
+        return extreme(comparator, true);
+    }
+
+    /**
+     * @param comparator Comparator deciding the maximum
+     * @return Returns Monoid keeping the maximal record, null stands for no record
+     */
+    public static <T> Monoid<T, T> max(Comparator<T> comparator) {
+        return extreme(comparator, false);
+    }
+
+    private static <T> Monoid<T, T> extreme(Comparator<T> comparator,
+                                            boolean lower) {
+        return new Monoid<>() {
+            @Override
+            public T identity() {
+                return null;
+            }
+
+            @Override
+            public T lift(T value) {
+                return value;
+            }
+
+            @Override
+            public T combine(T left, T right) {
+                if (left == null || right == null) {
+                    return left == null ? right : left;
+                }
+
+                var compared = comparator.compare(left, right);
+                return lower == compared <= 0 ? left : right;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,294 @@
+package com.mmasata.util.arena;
+
+import com.mmasata.util.helper.DirectBufferHelper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only off-heap storage of UTF-8 encoded Strings.
+ * <p>
+ * The bytes are kept in direct ByteBuffer chunks outside the Java heap, every record is a variable length prefix followed by the UTF-8 bytes.
+ * A record is addressed by a single long (chunk index in the upper half, offset in the lower half), so the caller can keep its index in a primitive array.
+ * <p>
+ * Records are compared byte by byte, eight bytes at a time, in the same order as String.compareTo (UTF-16 code units) and with null sorted first,
+ * which is the order of AlphabeticalOrderStringComparator. Strings are materialized only by read().
+ * <p>
+ * The arena is not thread-safe. release() frees the off-heap memory of the chunks right away through DirectBufferHelper,
+ * if the buffer cleaner is not available, it is returned to the system once the chunks are garbage collected.
+ */
+public class Utf8Arena {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Address representing null
+     */
+    public static final long NULL_ADDRESS = -1L;
+
+    private final int chunkSize;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    private final DirectBufferHelper bufferHelper = new DirectBufferHelper();
+
+    private ByteBuffer current;
+
+    private long usedBytes = 0;
+
+    private long capacityBytes = 0;
+
+
+    public Utf8Arena() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize Bytes allocated at once, records longer than the chunk get a chunk of their own
+     */
+    public Utf8Arena(int chunkSize) {
+        if (chunkSize < 16) {
+            throw new IllegalArgumentException("Chunk size must be at least 16 bytes");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Encodes the String to UTF-8. Unlike String.getBytes(), unpaired surrogates are rejected, as they can not be stored without loss.
+     *
+     * @param value String to encode, must not be null
+     * @return Returns UTF-8 bytes of the String
+     */
+    public static byte[] encode(String value) {
+        for (var idx = 0; idx < value.length(); idx++) {
+            var character = value.charAt(idx);
+
+            if (Character.isHighSurrogate(character) && idx + 1 < value.length() && Character.isLowSurrogate(value.charAt(idx + 1))) {
+                idx++;
+            } else if (Character.isSurrogate(character)) {
+                throw new IllegalArgumentException("String contains an unpaired surrogate at index " + idx);
+            }
+        }
+
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param utf8 UTF-8 bytes of the record
+     * @return Returns address of the stored record
+     */
+    public long append(byte[] utf8) {
+        var required = prefixLength(utf8.length) + utf8.length;
+
+        if (current == null || current.remaining() < required) {
+            current = ByteBuffer.allocateDirect(Math.max(chunkSize, required));
+            chunks.add(current);
+            capacityBytes += current.capacity();
+        }
+
+        var offset = current.position();
+        var remaining = utf8.length;
+        while ((remaining & ~0x7F) != 0) {
+            current.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        current.put((byte) remaining);
+        current.put(utf8);
+
+        usedBytes += required;
+        return ((long) (chunks.size() - 1) << 32) | offset;
+    }
+
+    /**
+     * Materializes the stored String
+     *
+     * @param address Address of the record
+     * @return Returns the stored String, null for NULL_ADDRESS
+     */
+    public String read(long address) {
+        if (address == NULL_ADDRESS) {
+            return null;
+        }
+
+        return new String(bytes(address), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param address Address of the record
+     * @return Returns a copy of the UTF-8 bytes of the record
+     */
+    public byte[] bytes(long address) {
+        var chunk = chunks.get(chunkIndex(address));
+        var offset = offset(address);
+        var length = length(chunk, offset);
+
+        var bytes = new byte[length];
+        chunk.get(offset + prefixLength(length), bytes);
+        return bytes;
+    }
+
+    /**
+     * @param address Address of the record
+     * @return Returns bytes occupied by the record in the arena, 0 for NULL_ADDRESS
+     */
+    public int recordBytes(long address) {
+        if (address == NULL_ADDRESS) {
+            return 0;
+        }
+
+        var length = length(chunks.get(chunkIndex(address)), offset(address));
+        return prefixLength(length) + length;
+    }
+
+    /**
+     * @param address Address of the stored record
+     * @param probe   UTF-8 bytes of the compared value, null for null
+     * @return Returns negative number, zero or positive number as the stored record is sorted before, equal to or after the probe
+     */
+    public int compare(long address,
+                       byte[] probe) {
+        if (address == NULL_ADDRESS || probe == null) {
+            return Boolean.compare(address != NULL_ADDRESS, probe != null);
+        }
+
+        var chunk = chunks.get(chunkIndex(address));
+        var offset = offset(address);
+        var length = length(chunk, offset);
+        return compare(chunk, offset + prefixLength(length), length, ByteBuffer.wrap(probe), 0, probe.length);
+    }
+
+    /**
+     * @param first  Address of the first record
+     * @param second Address of the second record
+     * @return Returns negative number, zero or positive number as the first record is sorted before, equal to or after the second one
+     */
+    public int compare(long first,
+                       long second) {
+        if (first == NULL_ADDRESS || second == NULL_ADDRESS) {
+            return Boolean.compare(first != NULL_ADDRESS, second != NULL_ADDRESS);
+        }
+
+        var firstChunk = chunks.get(chunkIndex(first));
+        var firstLength = length(firstChunk, offset(first));
+        var secondChunk = chunks.get(chunkIndex(second));
+        var secondLength = length(secondChunk, offset(second));
+
+        return compare(firstChunk, offset(first) + prefixLength(firstLength), firstLength,
+                secondChunk, offset(second) + prefixLength(secondLength), secondLength);
+    }
+
+    /**
+     * @return Returns bytes written to the arena, including records no longer referenced by the caller
+     */
+    public long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * @return Returns off-heap bytes allocated by the arena
+     */
+    public long capacityBytes() {
+        return capacityBytes;
+    }
+
+    /**
+     * @return Returns the number of allocated chunks
+     */
+    public int chunks() {
+        return chunks.size();
+    }
+
+    /**
+     * Frees all chunks, all addresses handed out so far become invalid.
+     * The chunks are never exposed outside the arena, so no freed chunk can be read once they are dropped from the list.
+     */
+    public void release() {
+        chunks.forEach(bufferHelper::release);
+        chunks.clear();
+        current = null;
+        usedBytes = 0;
+        capacityBytes = 0;
+    }
+
+    /**
+     * Compares two UTF-8 byte ranges in UTF-16 code unit order.
+     * <p>
+     * Unsigned byte order of UTF-8 equals code point order, which differs from UTF-16 order only for U+E000..U+FFFF
+     * against supplementary characters (stored as surrogates U+D800..U+DFFF in a String). Their lead bytes (0xEE, 0xEF against 0xF0..0xF4)
+     * are therefore moved after the four byte lead bytes.
+     */
+    private static int compare(ByteBuffer first,
+                               int firstFrom,
+                               int firstLength,
+                               ByteBuffer second,
+                               int secondFrom,
+                               int secondLength) {
+        var common = Math.min(firstLength, secondLength);
+        var idx = 0;
+
+        for (; idx + Long.BYTES <= common; idx += Long.BYTES) {
+            var firstWord = first.getLong(firstFrom + idx);
+            var secondWord = second.getLong(secondFrom + idx);
+
+            if (firstWord != secondWord) {
+                //buffers are big-endian, so the highest differing bit belongs to the first differing byte
+                idx += Long.numberOfLeadingZeros(firstWord ^ secondWord) / Byte.SIZE;
+                return compareBytes(first.get(firstFrom + idx), second.get(secondFrom + idx));
+            }
+        }
+
+        for (; idx < common; idx++) {
+            var firstByte = first.get(firstFrom + idx);
+            var secondByte = second.get(secondFrom + idx);
+
+            if (firstByte != secondByte) {
+                return compareBytes(firstByte, secondByte);
+            }
+        }
+
+        return Integer.compare(firstLength, secondLength);
+    }
+
+    private static int compareBytes(byte first,
+                                    byte second) {
+        var firstUnsigned = first & 0xFF;
+        var secondUnsigned = second & 0xFF;
+
+        if (firstUnsigned >= 0xEE && secondUnsigned >= 0xEE) {
+            firstUnsigned = firstUnsigned <= 0xEF ? firstUnsigned + 0x10 : firstUnsigned;
+            secondUnsigned = secondUnsigned <= 0xEF ? secondUnsigned + 0x10 : secondUnsigned;
+        }
+
+        return Integer.compare(firstUnsigned, secondUnsigned);
+    }
+
+    private static int length(ByteBuffer chunk,
+                              int offset) {
+        var length = 0;
+        var shift = 0;
+
+        while (true) {
+            var part = chunk.get(offset++);
+            length |= (part & 0x7F) << shift;
+            if ((part & 0x80) == 0) {
+                return length;
+            }
+            shift += 7;
+        }
+    }
+
+    private static int prefixLength(int length) {
+        return length < (1 << 7) ? 1 : length < (1 << 14) ? 2 : length < (1 << 21) ? 3 : length < (1 << 28) ? 4 : 5;
+    }
+
+    private static int chunkIndex(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+}
@@ -1,10 +1,15 @@
 package com.mmasata.util.comparator;
 
+import lombok.EqualsAndHashCode;
+
 import java.util.Comparator;
 
 /**
  * Comparator for alphabetical comparison of two Strings
+ * <p>
+ * The Comparator is stateless, so all its instances are equal.
  */
+@EqualsAndHashCode
 public class AlphabeticalOrderStringComparator implements Comparator<String> {
 
     @Override
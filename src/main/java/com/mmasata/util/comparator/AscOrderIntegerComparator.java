@@ -1,10 +1,15 @@
 package com.mmasata.util.comparator;
 
+import lombok.EqualsAndHashCode;
+
 import java.util.Comparator;
 
 /**
  * Comparator for sorting numbers from smallest to largest number
+ * <p>
+ * The Comparator is stateless, so all its instances are equal.
  */
+@EqualsAndHashCode
 public class AscOrderIntegerComparator implements Comparator<Integer> {
 
     @Override
@@ -22,7 +27,7 @@ public class AscOrderIntegerComparator implements Comparator<Integer> {
             return 1;
         }
 
-        return o1 - o2;
+        return Integer.compare(o1, o2);
     }
 
 }
@@ -1,10 +1,15 @@
 package com.mmasata.util.comparator;
 
+import lombok.EqualsAndHashCode;
+
 import java.util.Comparator;
 
 /**
  * Comparator for sorting numbers from largest to smallest number
+ * <p>
+ * The Comparator is stateless, so all its instances are equal.
  */
+@EqualsAndHashCode
 public class DescOrderIntegerComparator implements Comparator<Integer> {
 
     @Override
@@ -22,7 +27,7 @@ public class DescOrderIntegerComparator implements Comparator<Integer> {
             return -1;
         }
 
-        return o2 - o1;
+        return Integer.compare(o2, o1);
     }
 
 }
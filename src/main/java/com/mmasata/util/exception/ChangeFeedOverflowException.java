@@ -0,0 +1,16 @@
+package com.mmasata.util.exception;
+
+/**
+ * Signals to a subscriber of the change feed that it did not keep up and its buffer overflowed.
+ * Changes were lost, so the subscriber has to subscribe again and resynchronize from a snapshot of the list,
+ * applying only the changes sequenced after the snapshot (see SortedLinkedListImpl.changeFeedSnapshot).
+ */
+public class ChangeFeedOverflowException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ChangeFeedOverflowException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.mmasata.util.feed;
+
+import lombok.Value;
+
+/**
+ * One change of the list. Applying the events in the order of their sequence to a copy of the list reproduces the list.
+ *
+ * @param <T> Generic value of the collection
+ */
+@Value
+public class ChangeEvent<T> {
+
+    /**
+     * Sequence number of the change, consecutive for all changes published while the list had a subscriber
+     */
+    long sequence;
+
+    ChangeType type;
+
+    /**
+     * Index of the inserted or deleted record, -1 for CLEAR
+     */
+    int rank;
+
+    T value;
+
+    /**
+     * Index of the record replaced by SET, otherwise -1
+     */
+    int previousRank;
+
+    /**
+     * Value replaced by SET, otherwise null
+     */
+    T previousValue;
+
+}
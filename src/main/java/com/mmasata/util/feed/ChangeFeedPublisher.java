@@ -0,0 +1,114 @@
+package com.mmasata.util.feed;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Publisher of incremental changes of a list, so consumers (caches, replicas) can apply deltas instead of polling the whole list.
+ * <p>
+ * Every subscriber gets its own bounded buffer. The writer only appends to the buffers, so a slow subscriber never stalls it:
+ * once the buffer of a subscriber is full, the subscriber is terminated by onError with ChangeFeedOverflowException and has to resubscribe
+ * and resynchronize from a snapshot carrying the sequence of the last change it contains (SortedLinkedListImpl.changeFeedSnapshot).
+ * Each requested item is a batch of up to maxBatchSize consecutive changes.
+ *
+ * @param <T> Generic value of the collection
+ */
+public class ChangeFeedPublisher<T> implements Flow.Publisher<List<ChangeEvent<T>>> {
+
+    private final int bufferCapacity;
+
+    private final int maxBatchSize;
+
+    private final Executor executor;
+
+    private final List<ChangeSubscription<T>> subscriptions = new CopyOnWriteArrayList<>();
+
+    private long sequence = 0;
+
+    //read by subscribe() on the subscribing thread
+    private volatile boolean closed = false;
+
+
+    /**
+     * @param bufferCapacity Maximal number of changes buffered per subscriber
+     * @param maxBatchSize   Maximal number of changes delivered in one batch
+     * @param executor       Executor delivering the batches
+     */
+    public ChangeFeedPublisher(int bufferCapacity,
+                               int maxBatchSize,
+                               Executor executor) {
+        if (bufferCapacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Buffer capacity and batch size must be positive");
+        }
+
+        this.bufferCapacity = bufferCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<ChangeEvent<T>>> subscriber) {
+        var subscription = new ChangeSubscription<T>(this, subscriber, bufferCapacity, maxBatchSize, executor);
+        subscriber.onSubscribe(subscription);
+
+        //registered only after onSubscribe returned, so no change is delivered before it
+        if (closed) {
+            subscription.complete();
+        } else if (!subscription.isCancelled()) {
+            subscriptions.add(subscription);
+        }
+    }
+
+    /**
+     * @return Returns true if there is at least one subscriber, the list computes ranks only in that case
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * @return Returns the number of current subscribers
+     */
+    public int subscribers() {
+        return subscriptions.size();
+    }
+
+    /**
+     * @return Returns the sequence of the last published change, -1 if no change was published yet
+     */
+    public long lastSequence() {
+        return sequence - 1;
+    }
+
+    /**
+     * Publishes a change to all subscribers, called by the writer of the list
+     */
+    public void publish(ChangeType type,
+                        int rank,
+                        T value,
+                        int previousRank,
+                        T previousValue) {
+        var event = new ChangeEvent<>(sequence++, type, rank, value, previousRank, previousValue);
+        for (var subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Completes all subscribers after delivering their buffered changes, later subscribers are completed immediately
+     */
+    public void close() {
+        closed = true;
+        for (var subscription : subscriptions) {
+            subscription.complete();
+        }
+        subscriptions.clear();
+    }
+
+    void unsubscribe(ChangeSubscription<T> subscription) {
+        subscriptions.remove(subscription);
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.mmasata.util.feed;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Copy of the records of a list consistent with its change feed.
+ * Applying the changes with a sequence greater than the snapshot's one to a copy of the records reproduces the list.
+ *
+ * @param <T> Generic value of the collection
+ */
+@Value
+public class ChangeFeedSnapshot<T> {
+
+    /**
+     * Sequence of the last change contained in the snapshot, -1 if no change was published before it
+     */
+    long sequence;
+
+    /**
+     * Records of the list in its order, unmodifiable
+     */
+    List<T> values;
+
+}
@@ -0,0 +1,179 @@
+package com.mmasata.util.feed;
+
+import com.mmasata.util.exception.ChangeFeedOverflowException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscription of one subscriber with its own bounded buffer.
+ * <p>
+ * The writer only offers events into the buffer and never waits. Delivery runs on the Executor, at most one task at a time,
+ * and hands out the buffered events in batches, one batch per requested item.
+ *
+ * @param <T> Generic value of the collection
+ */
+class ChangeSubscription<T> implements Flow.Subscription, Runnable {
+
+    private final ChangeFeedPublisher<T> publisher;
+
+    private final Flow.Subscriber<? super List<ChangeEvent<T>>> subscriber;
+
+    private final ArrayBlockingQueue<ChangeEvent<T>> buffer;
+
+    private final int maxBatchSize;
+
+    private final Executor executor;
+
+    private final AtomicLong demand = new AtomicLong();
+
+    private final AtomicInteger pendingSignals = new AtomicInteger();
+
+    private volatile boolean cancelled = false;
+
+    private volatile boolean completed = false;
+
+    private volatile Throwable failure;
+
+
+    ChangeSubscription(ChangeFeedPublisher<T> publisher,
+                       Flow.Subscriber<? super List<ChangeEvent<T>>> subscriber,
+                       int bufferCapacity,
+                       int maxBatchSize,
+                       Executor executor) {
+        this.publisher = publisher;
+        this.subscriber = subscriber;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.executor = executor;
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            fail(new IllegalArgumentException("Requested number of batches must be positive"));
+            return;
+        }
+
+        demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        signal();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        publisher.unsubscribe(this);
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Called by the writer, never blocks. A full buffer terminates the subscription with ChangeFeedOverflowException.
+     */
+    void offer(ChangeEvent<T> event) {
+        if (cancelled || failure != null) {
+            return;
+        }
+
+        if (!buffer.offer(event)) {
+            fail(new ChangeFeedOverflowException("Subscriber did not keep up, change " + event.getSequence() + " was lost"));
+            return;
+        }
+        signal();
+    }
+
+    void complete() {
+        completed = true;
+        signal();
+    }
+
+    /**
+     * Drains the buffer on the Executor. Signals arriving during the drain are counted, so the loop repeats instead of starting another task.
+     */
+    @Override
+    public void run() {
+        var missed = 1;
+
+        do {
+            if (cancelled) {
+                buffer.clear();
+                return;
+            }
+
+            if (failure != null) {
+                terminate();
+                subscriber.onError(failure);
+                return;
+            }
+
+            while (demand.get() > 0 && !buffer.isEmpty()) {
+                var batch = new ArrayList<ChangeEvent<T>>(Math.min(maxBatchSize, buffer.size()));
+                buffer.drainTo(batch, maxBatchSize);
+
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+                if (!deliver(batch)) {
+                    return;
+                }
+            }
+
+            if (completed && buffer.isEmpty()) {
+                terminate();
+                subscriber.onComplete();
+                return;
+            }
+
+            missed = pendingSignals.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * A subscriber must not throw from onNext (Reactive Streams rule 2.13). If it does, the subscription is considered cancelled,
+     * it is dropped from the publisher and the exception is passed to the uncaught exception handler of the delivering thread,
+     * so neither the writer nor the other subscribers are affected.
+     *
+     * @return Returns true if the batch was delivered and the subscription was not cancelled meanwhile
+     */
+    private boolean deliver(List<ChangeEvent<T>> batch) {
+        try {
+            subscriber.onNext(batch);
+        } catch (Throwable throwable) {
+            terminate();
+            var thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+            return false;
+        }
+
+        if (cancelled) {
+            buffer.clear();
+            return false;
+        }
+        return true;
+    }
+
+    private void fail(Throwable throwable) {
+        failure = throwable;
+        signal();
+    }
+
+    private void terminate() {
+        cancelled = true;
+        buffer.clear();
+        publisher.unsubscribe(this);
+    }
+
+    private void signal() {
+        if (pendingSignals.getAndIncrement() == 0) {
+            executor.execute(this);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.mmasata.util.feed;
+
+/**
+ * Type of change published by the change feed
+ */
+public enum ChangeType {
+
+    /**
+     * Value was inserted at rank
+     */
+    INSERT,
+
+    /**
+     * Value was deleted from rank
+     */
+    DELETE,
+
+    /**
+     * Previous value was deleted from previous rank, then value was inserted at rank (counted after the deletion)
+     */
+    SET,
+
+    /**
+     * All records were deleted
+     */
+    CLEAR
+}
@@ -0,0 +1,189 @@
+package com.mmasata.util.filter;
+
+import com.mmasata.util.model.FilterStats;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Probabilistic membership filter supporting deletes.
+ * <p>
+ * Every value increments k counters chosen by double hashing of its hashCode. If any of the counters is zero, the value is definitely absent,
+ * otherwise it may be present with the configured false positive probability. Counters saturate at 255 and are never decremented afterwards,
+ * so the filter never reports a present value as absent.
+ */
+public class CountingBloomFilter {
+
+    private static final int SATURATED = 0xFF;
+
+    private final byte[] counters;
+
+    private final int hashFunctions;
+
+    private final int expectedInsertions;
+
+    private final double falsePositiveProbability;
+
+    private int insertions = 0;
+
+    private long lookups = 0;
+
+    private long definitelyAbsent = 0;
+
+    private long falsePositives = 0;
+
+    /**
+     * @param expectedInsertions       Number of values the filter is sized for
+     * @param falsePositiveProbability Requested false positive probability with the expected number of values (between 0 and 1)
+     */
+    public CountingBloomFilter(int expectedInsertions,
+                               double falsePositiveProbability) {
+
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1");
+        }
+
+        var size = (int) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.counters = new byte[Math.max(64, size)];
+        this.hashFunctions = Math.max(1, (int) Math.round((double) counters.length / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    /**
+     * @param value Inserted value
+     */
+    public void add(Object value) {
+        var hash = mix(Objects.hashCode(value));
+        for (var idx = 0; idx < hashFunctions; idx++) {
+            var position = position(hash, idx);
+            var counter = counters[position] & SATURATED;
+            if (counter < SATURATED) {
+                counters[position] = (byte) (counter + 1);
+            }
+        }
+        insertions++;
+    }
+
+    /**
+     * Removes one occurrence of the value. The value must have been added before, otherwise the filter may return false negatives.
+     *
+     * @param value Removed value
+     */
+    public void remove(Object value) {
+        var hash = mix(Objects.hashCode(value));
+        for (var idx = 0; idx < hashFunctions; idx++) {
+            var position = position(hash, idx);
+            var counter = counters[position] & SATURATED;
+            if (counter > 0 && counter < SATURATED) {
+                counters[position] = (byte) (counter - 1);
+            }
+        }
+        insertions--;
+    }
+
+    /**
+     * @param value Searched value
+     * @return Returns false if the value is definitely absent, true if it may be present
+     */
+    public boolean mightContain(Object value) {
+        lookups++;
+
+        var hash = mix(Objects.hashCode(value));
+        for (var idx = 0; idx < hashFunctions; idx++) {
+            if (counters[position(hash, idx)] == 0) {
+                definitelyAbsent++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records that the last lookup let through by mightContain did not find the value
+     */
+    public void recordFalsePositive() {
+        falsePositives++;
+    }
+
+    /**
+     * @return Returns statistics of the lookups and the current state of the filter
+     */
+    public FilterStats stats() {
+        return new FilterStats(lookups, definitelyAbsent, falsePositives, counters.length, hashFunctions, expectedFalsePositiveProbability());
+    }
+
+    /**
+     * Resets all counters
+     */
+    public void clear() {
+        Arrays.fill(counters, (byte) 0);
+        insertions = 0;
+    }
+
+    /**
+     * @return Returns the number of values currently in the filter
+     */
+    public int insertions() {
+        return insertions;
+    }
+
+    /**
+     * @return Returns the number of values the filter is sized for
+     */
+    public int expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * @return Returns the requested false positive probability
+     */
+    public double falsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * @return Returns the number of counters
+     */
+    public int counters() {
+        return counters.length;
+    }
+
+    /**
+     * @return Returns the number of counters updated for every value
+     */
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * @return Returns the false positive probability expected with the current number of values
+     */
+    public double expectedFalsePositiveProbability() {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * insertions / counters.length), hashFunctions);
+    }
+
+    private int position(long hash, int idx) {
+        //double hashing, the second hash is taken from the upper half
+        var combined = (int) hash + idx * (int) (hash >>> 32);
+        return (combined & Integer.MAX_VALUE) % counters.length;
+    }
+
+    /**
+     * Spreads the hashCode over 64 bits (finalizer of MurmurHash3), so that poor hashCodes like Integer's do not cluster
+     */
+    private long mix(int hashCode) {
+        var hash = hashCode * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
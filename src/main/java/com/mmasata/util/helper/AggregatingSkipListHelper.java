@@ -0,0 +1,329 @@
+package com.mmasata.util.helper;
+
+import com.mmasata.util.aggregate.Monoid;
+import com.mmasata.util.model.SkipNode;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Helper class for processing algorithms over skip lists with aggregated spans.
+ * <p>
+ * Every list starts with a sentinel Node holding no record. The sentinel is only as high as the highest Node in the list,
+ * so searches and span updates of small lists do not walk empty levels.
+ * After every structural change the spans are recomputed bottom-up from the spans of the level below, so the Monoid does not need to be invertible.
+ */
+public class AggregatingSkipListHelper {
+
+    /**
+     * Finds on every level the last Node holding a value lower than the given value (or the sentinel).
+     *
+     * @param sentinel   Head sentinel of the skip list
+     * @param comparator Comparator for comparing individual records
+     * @param value      Searched value
+     * @param <T>        Generic value stored in SkipNode
+     * @param <A>        Aggregate value maintained for the spans
+     * @return Returns predecessors indexed by level
+     */
+    @SuppressWarnings("unchecked")
+    public <T, A> SkipNode<T, A>[] findPredecessors(SkipNode<T, A> sentinel,
+                                                    Comparator<T> comparator,
+                                                    T value) {
+
+        var predecessors = (SkipNode<T, A>[]) new SkipNode<?, ?>[sentinel.height()];
+        var current = sentinel;
+
+        for (var level = sentinel.height() - 1; level >= 0; level--) {
+            while (current.getNext(level) != null && comparator.compare(current.getNext(level).getValue(), value) < 0) {
+                current = current.getNext(level);
+            }
+            predecessors[level] = current;
+        }
+
+        return predecessors;
+    }
+
+    /**
+     * Finds the predecessors of the first record equal (by equals) to the value. Only the run of records equal by the Comparator is searched.
+     *
+     * @param sentinel   Head sentinel of the skip list
+     * @param comparator Comparator for comparing individual records
+     * @param value      Searched value
+     * @param <T>        Generic value stored in SkipNode
+     * @param <A>        Aggregate value maintained for the spans
+     * @return Returns predecessors of the found record indexed by level, null if there is no such record
+     */
+    public <T, A> SkipNode<T, A>[] findPredecessorsOfEqual(SkipNode<T, A> sentinel,
+                                                           Comparator<T> comparator,
+                                                           T value) {
+
+        var predecessors = findPredecessors(sentinel, comparator, value);
+        var candidate = predecessors[0].getNext(0);
+
+        while (candidate != null && comparator.compare(candidate.getValue(), value) == 0) {
+            if (Objects.equals(candidate.getValue(), value)) {
+                return predecessors;
+            }
+
+            //the passed record stands in front of the searched one on all levels it is linked on
+            for (var level = 0; level < candidate.height(); level++) {
+                predecessors[level] = candidate;
+            }
+            candidate = candidate.getNext(0);
+        }
+
+        return null;
+    }
+
+    /**
+     * @param sentinel Head sentinel of the skip list
+     * @param index    Search index
+     * @param <T>      Generic value stored in SkipNode
+     * @param <A>      Aggregate value maintained for the spans
+     * @return Returns the Node at the given index. If the Node does not exist on that index, then this is an IndexOutOfBoundsException
+     */
+    public <T, A> SkipNode<T, A> findNodeByIndex(SkipNode<T, A> sentinel,
+                                                 int index) {
+
+        //index must be at least 0
+        if (index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        //the sentinel stands before the first record, so index + 1 records have to be skipped
+        var remaining = index + 1;
+        var current = sentinel;
+
+        for (var level = sentinel.height() - 1; level >= 0; level--) {
+            while (current.getNext(level) != null && current.getWidth(level) <= remaining) {
+                remaining -= current.getWidth(level);
+                current = current.getNext(level);
+            }
+        }
+
+        if (remaining != 0 || current == sentinel) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return current;
+    }
+
+    /**
+     * Links a new Node in front of all values equal to it and recomputes the affected spans.
+     * The sentinel grows first if the new Node is higher than all others.
+     *
+     * @param sentinel   Head sentinel of the skip list
+     * @param comparator Comparator for comparing individual records
+     * @param monoid     Monoid maintained for the spans
+     * @param newValue   Value to insert
+     * @param height     Number of levels of the new Node
+     * @param <T>        Generic value stored in SkipNode
+     * @param <A>        Aggregate value maintained for the spans
+     */
+    public <T, A> void performInsert(SkipNode<T, A> sentinel,
+                                     Comparator<T> comparator,
+                                     Monoid<T, A> monoid,
+                                     T newValue,
+                                     int height) {
+
+        if (height > sentinel.height()) {
+            sentinel.resize(height);
+        }
+
+        var predecessors = findPredecessors(sentinel, comparator, newValue);
+        var newNode = new SkipNode<T, A>(newValue, height);
+
+        for (var level = 0; level < height; level++) {
+            newNode.setNext(level, predecessors[level].getNext(level));
+            predecessors[level].setNext(level, newNode);
+        }
+
+        recomputeSpans(predecessors, newNode, monoid);
+    }
+
+    /**
+     * Unlinks the Node following the predecessors on the lowest level and recomputes the affected spans.
+     * Levels left empty by the deleted Node are dropped from the sentinel.
+     *
+     * @param sentinel     Head sentinel of the skip list
+     * @param predecessors Predecessors of the deleted Node on every level
+     * @param monoid       Monoid maintained for the spans
+     * @param <T>          Generic value stored in SkipNode
+     * @param <A>          Aggregate value maintained for the spans
+     */
+    public <T, A> void performDelete(SkipNode<T, A> sentinel,
+                                     SkipNode<T, A>[] predecessors,
+                                     Monoid<T, A> monoid) {
+
+        var node = predecessors[0].getNext(0);
+
+        //every predecessor points directly to the node on the levels it is linked on
+        for (var level = 0; level < node.height(); level++) {
+            predecessors[level].setNext(level, node.getNext(level));
+        }
+
+        node.clear();
+        recomputeSpans(predecessors, null, monoid);
+
+        var height = sentinel.height();
+        while (height > 1 && sentinel.getNext(height - 1) == null) {
+            height--;
+        }
+        if (height < sentinel.height()) {
+            sentinel.resize(height);
+        }
+    }
+
+    /**
+     * Aggregates all records after the start Node, which satisfy the bound. The bound must hold for a prefix of the records only.
+     * <p>
+     * On every step the highest level whose next Node is still within the bound is used, so the fold costs O(log n).
+     *
+     * @param start   Node after which the aggregation starts
+     * @param inBound Predicate which is true for the values still to aggregate
+     * @param monoid  Monoid maintained for the spans
+     * @param <T>     Generic value stored in SkipNode
+     * @param <A>     Aggregate value maintained for the spans
+     * @return Returns aggregate of the records
+     */
+    public <T, A> A performFold(SkipNode<T, A> start,
+                                Predicate<T> inBound,
+                                Monoid<T, A> monoid) {
+
+        var aggregate = monoid.identity();
+        var current = start;
+
+        while (true) {
+            var level = current.height() - 1;
+            while (level >= 0 && (current.getNext(level) == null || !inBound.test(current.getNext(level).getValue()))) {
+                level--;
+            }
+
+            if (level < 0) {
+                return aggregate;
+            }
+
+            aggregate = monoid.combine(aggregate, current.getSpan(level));
+            current = current.getNext(level);
+        }
+    }
+
+    /**
+     * Links already sorted values behind the empty sentinel level by level and computes all spans in one pass per level.
+     * The sentinel grows with the highest linked Node.
+     *
+     * @param sentinel     Empty head sentinel of the skip list
+     * @param sortedValues Iterator of already sorted values
+     * @param heights      Supplier of the heights of the new Nodes
+     * @param monoid       Monoid maintained for the spans
+     * @param <T>          Generic value stored in SkipNode
+     * @param <A>          Aggregate value maintained for the spans
+     * @return Returns the number of linked records
+     */
+    @SuppressWarnings("unchecked")
+    public <T, A> int performBuild(SkipNode<T, A> sentinel,
+                                   Iterator<? extends T> sortedValues,
+                                   IntSupplier heights,
+                                   Monoid<T, A> monoid) {
+
+        var tails = (SkipNode<T, A>[]) new SkipNode<?, ?>[sentinel.height()];
+        Arrays.fill(tails, sentinel);
+        var count = 0;
+
+        while (sortedValues.hasNext()) {
+            var newNode = new SkipNode<T, A>(sortedValues.next(), heights.getAsInt());
+            if (newNode.height() > sentinel.height()) {
+                var height = sentinel.height();
+                sentinel.resize(newNode.height());
+                tails = Arrays.copyOf(tails, newNode.height());
+                Arrays.fill(tails, height, tails.length, sentinel);
+            }
+
+            for (var level = 0; level < newNode.height(); level++) {
+                tails[level].setNext(level, newNode);
+                tails[level] = newNode;
+            }
+            count++;
+        }
+
+        for (var level = 0; level < sentinel.height(); level++) {
+            var current = sentinel;
+            while (current != null) {
+                recomputeSpan(current, level, monoid);
+                current = current.getNext(level);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Sets the value of all Nodes to null, unlinks them from the sentinel and shrinks it to one level
+     *
+     * @param sentinel Head sentinel of the skip list
+     * @param monoid   Monoid maintained for the spans
+     * @param <T>      Generic value stored in SkipNode
+     * @param <A>      Aggregate value maintained for the spans
+     */
+    public <T, A> void performClear(SkipNode<T, A> sentinel,
+                                    Monoid<T, A> monoid) {
+
+        var currentNode = sentinel.getNext(0);
+        while (currentNode != null) {
+            var nextNode = currentNode.getNext(0);
+            currentNode.clear();
+            currentNode = nextNode;
+        }
+
+        sentinel.resize(1);
+        sentinel.setNext(0, null);
+        sentinel.setSpan(0, 0, monoid.identity());
+    }
+
+    private <T, A> void recomputeSpans(SkipNode<T, A>[] predecessors,
+                                       SkipNode<T, A> newNode,
+                                       Monoid<T, A> monoid) {
+
+        //bottom-up, every level is computed from the already fixed level below
+        for (var level = 0; level < predecessors.length; level++) {
+            if (newNode != null && level < newNode.height()) {
+                recomputeSpan(newNode, level, monoid);
+            }
+            recomputeSpan(predecessors[level], level, monoid);
+        }
+    }
+
+    private <T, A> void recomputeSpan(SkipNode<T, A> node,
+                                      int level,
+                                      Monoid<T, A> monoid) {
+
+        var target = node.getNext(level);
+
+        if (target == null) {
+            node.setSpan(level, 0, monoid.identity());
+            return;
+        }
+
+        if (level == 0) {
+            node.setSpan(level, 1, monoid.lift(target.getValue()));
+            return;
+        }
+
+        var width = 0;
+        var aggregate = monoid.identity();
+        var current = node;
+
+        while (current != target) {
+            width += current.getWidth(level - 1);
+            aggregate = monoid.combine(aggregate, current.getSpan(level - 1));
+            current = current.getNext(level - 1);
+        }
+
+        node.setSpan(level, width, aggregate);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.mmasata.util.helper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+
+/**
+ * Helper class releasing the off-heap memory of direct ByteBuffers.
+ * <p>
+ * The memory of a direct buffer is otherwise returned to the system only once the buffer object is garbage collected.
+ * The cleaner of the buffer is run through sun.misc.Unsafe#invokeCleaner (module jdk.unsupported), which is looked up reflectively.
+ * If it is not available, the memory is left to the garbage collector.
+ */
+public class DirectBufferHelper {
+
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    /**
+     * Frees the memory of the buffer immediately. The buffer must not be accessed afterwards, reading freed memory can crash the JVM.
+     *
+     * @param buffer Direct buffer allocated by ByteBuffer.allocateDirect (not a slice or duplicate)
+     * @return Returns true if the memory was freed, false if it is left to the garbage collector
+     */
+    public boolean release(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return false;
+        }
+
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+            return true;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            var unsafeClass = Class.forName("sun.misc.Unsafe");
+            var theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+}
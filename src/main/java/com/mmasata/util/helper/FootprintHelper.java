@@ -0,0 +1,188 @@
+package com.mmasata.util.helper;
+
+import com.mmasata.util.model.IntAggregate;
+import com.mmasata.util.model.MemoryFootprint;
+import com.mmasata.util.model.Node;
+import com.mmasata.util.model.RunNode;
+import com.mmasata.util.model.SkipNode;
+
+/**
+ * Helper class estimating the heap occupied by the custom data structures.
+ * <p>
+ * The estimate assumes a 64-bit JVM with compressed references (12 bytes object header, 4 bytes reference, 8 bytes alignment).
+ * Every record is counted as its own value object, even if several records share the same instance (e.g. cached Integers).
+ */
+public class FootprintHelper {
+
+    public static final int OBJECT_HEADER = 12;
+    public static final int ARRAY_HEADER = 16;
+    public static final int REFERENCE = 4;
+    public static final int ALIGNMENT = 8;
+
+    /**
+     * Approximate size of a ReentrantLock together with its synchronizer
+     */
+    public static final int LOCK = 48;
+
+    /**
+     * @param references     Number of reference fields
+     * @param primitiveBytes Bytes occupied by primitive fields
+     * @return Returns the aligned size of one object with the given fields
+     */
+    public long objectFootprint(int references,
+                                int primitiveBytes) {
+        return align(OBJECT_HEADER + (long) references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * @param length Number of references in the array
+     * @return Returns the aligned size of an array of references
+     */
+    public long referenceArrayFootprint(int length) {
+        return align(ARRAY_HEADER + (long) length * REFERENCE);
+    }
+
+    /**
+     * @param length Number of ints in the array
+     * @return Returns the aligned size of an array of ints
+     */
+    public long intArrayFootprint(int length) {
+        return align(ARRAY_HEADER + (long) length * Integer.BYTES);
+    }
+
+    /**
+     * @param length Number of longs in the array
+     * @return Returns the aligned size of an array of longs
+     */
+    public long longArrayFootprint(int length) {
+        return align(ARRAY_HEADER + (long) length * Long.BYTES);
+    }
+
+    /**
+     * @param length Number of bytes in the array
+     * @return Returns the aligned size of an array of bytes
+     */
+    public long byteArrayFootprint(int length) {
+        return align(ARRAY_HEADER + (long) length);
+    }
+
+    /**
+     * Estimates the size of the value itself. Integers, Longs and Strings are estimated exactly, other objects as an empty object.
+     *
+     * @param value Stored value
+     * @return Returns estimated bytes of the value, 0 for null
+     */
+    public long valueFootprint(Object value) {
+        if (value == null) {
+            return 0;
+        }
+
+        if (value instanceof Integer) {
+            return objectFootprint(0, Integer.BYTES);
+        }
+
+        if (value instanceof Long) {
+            return objectFootprint(0, Long.BYTES);
+        }
+
+        if (value instanceof String string) {
+            //compact strings store Latin-1 content in one byte per char
+            var latin1 = string.chars().allMatch(character -> character <= 0xFF);
+            var contentBytes = latin1 ? string.length() : string.length() * 2L;
+
+            //String: value reference, int hash, byte coder, boolean hashIsZero
+            return objectFootprint(1, Integer.BYTES + 2) + align(ARRAY_HEADER + contentBytes);
+        }
+
+        return objectFootprint(0, 0);
+    }
+
+    /**
+     * Estimates a span aggregate of the skip list. IntAggregate is estimated by its fields, other aggregates as values.
+     *
+     * @param aggregate Aggregate of one span
+     * @return Returns estimated bytes of the aggregate, 0 for null
+     */
+    public long aggregateFootprint(Object aggregate) {
+        if (aggregate instanceof IntAggregate intAggregate) {
+            //count and sum, min and max references together with the boxed min and max
+            return objectFootprint(2, 2 * Long.BYTES) + valueFootprint(intAggregate.getMin()) + valueFootprint(intAggregate.getMax());
+        }
+
+        return valueFootprint(aggregate);
+    }
+
+    /**
+     * @param head First SortedLinkedList Node
+     * @param <T>  Generic value stored in Node
+     * @return Returns the footprint of all Nodes and their values, without the structure
+     */
+    public <T> MemoryFootprint estimateNodes(Node<T> head) {
+        var nodeBytes = 0L;
+        var valueBytes = 0L;
+        //value, prev and next references and the tombstone flag
+        var nodeFootprint = objectFootprint(3, 1);
+
+        var currentNode = head;
+        while (currentNode != null) {
+            nodeBytes += nodeFootprint;
+            valueBytes += valueFootprint(currentNode.getValue());
+            currentNode = currentNode.getNext();
+        }
+
+        return new MemoryFootprint(0, nodeBytes, valueBytes);
+    }
+
+    /**
+     * @param head First RunNode of the chain
+     * @param <T>  Generic value stored in RunNode
+     * @return Returns the footprint of all RunNodes and their values (each value is stored once per run), without the structure
+     */
+    public <T> MemoryFootprint estimateRuns(RunNode<T> head) {
+        var nodeBytes = 0L;
+        var valueBytes = 0L;
+        var nodeFootprint = objectFootprint(3, Integer.BYTES);
+
+        var currentNode = head;
+        while (currentNode != null) {
+            nodeBytes += nodeFootprint;
+            valueBytes += valueFootprint(currentNode.getValue());
+            currentNode = currentNode.getNext();
+        }
+
+        return new MemoryFootprint(0, nodeBytes, valueBytes);
+    }
+
+    /**
+     * @param sentinel Head sentinel of the skip list
+     * @param <T>      Generic value stored in SkipNode
+     * @return Returns the footprint of all SkipNodes (including the sentinel, level arrays and span aggregates) and their values, without the structure
+     */
+    public <T> MemoryFootprint estimateSkipNodes(SkipNode<T, ?> sentinel) {
+        var nodeBytes = 0L;
+        var valueBytes = 0L;
+
+        SkipNode<T, ?> currentNode = sentinel;
+        while (currentNode != null) {
+            var height = currentNode.height();
+
+            //value, next, width and span references together with the level arrays
+            nodeBytes += objectFootprint(4, 0) + 2 * referenceArrayFootprint(height) + intArrayFootprint(height);
+            for (var level = 0; level < height && currentNode.getNext(level) != null; level++) {
+                nodeBytes += aggregateFootprint(currentNode.getSpan(level));
+            }
+
+            if (currentNode != sentinel) {
+                valueBytes += valueFootprint(currentNode.getValue());
+            }
+            currentNode = currentNode.getNext(0);
+        }
+
+        return new MemoryFootprint(0, nodeBytes, valueBytes);
+    }
+
+    private long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.mmasata.util.helper;
+
+import java.util.Comparator;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join task merging already sorted arrays pairwise into one sorted array.
+ * <p>
+ * The arrays are split into halves that are merged in parallel, then both results are merged in one linear pass.
+ *
+ * @param <T> Generic value stored in the arrays
+ */
+public class ParallelMergeTask<T> extends RecursiveTask<Object[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object[][] arrays;
+    private final Comparator<T> comparator;
+    private final int from;
+    private final int to;
+
+    public ParallelMergeTask(Object[][] arrays,
+                             Comparator<T> comparator) {
+        this(arrays, comparator, 0, arrays.length);
+    }
+
+    private ParallelMergeTask(Object[][] arrays,
+                              Comparator<T> comparator,
+                              int from,
+                              int to) {
+        this.arrays = arrays;
+        this.comparator = comparator;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected Object[] compute() {
+        if (to - from == 0) {
+            return new Object[0];
+        }
+
+        if (to - from == 1) {
+            return arrays[from];
+        }
+
+        var middle = (from + to) >>> 1;
+        var left = new ParallelMergeTask<>(arrays, comparator, from, middle);
+        var right = new ParallelMergeTask<>(arrays, comparator, middle, to);
+
+        left.fork();
+        var rightResult = right.compute();
+        var leftResult = left.join();
+
+        return merge(leftResult, rightResult);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object[] merge(Object[] left,
+                           Object[] right) {
+
+        var merged = new Object[left.length + right.length];
+        var leftIdx = 0;
+        var rightIdx = 0;
+        var idx = 0;
+
+        while (leftIdx < left.length && rightIdx < right.length) {
+            //on equality the left value goes first to keep the merge stable
+            if (comparator.compare((T) right[rightIdx], (T) left[leftIdx]) < 0) {
+                merged[idx++] = right[rightIdx++];
+            } else {
+                merged[idx++] = left[leftIdx++];
+            }
+        }
+
+        System.arraycopy(left, leftIdx, merged, idx, left.length - leftIdx);
+        idx += left.length - leftIdx;
+        System.arraycopy(right, rightIdx, merged, idx, right.length - rightIdx);
+
+        return merged;
+    }
+
+}
@@ -0,0 +1,225 @@
+package com.mmasata.util.helper;
+
+import com.mmasata.util.model.RunNode;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Helper class for processing algorithms over run-length encoded chains of RunNodes.
+ * <p>
+ * All traversals are bounded by the number of distinct values, not by the number of records.
+ */
+public class RunLengthListHelper {
+
+    /**
+     * Searches the chain and tries to find the run of the given value. If it does not find it, it returns null.
+     *
+     * @param head  First RunNode of the chain
+     * @param value Searched value
+     * @param <T>   Generic value stored in RunNode
+     * @return RunNode of the searched value or null
+     */
+    public <T> RunNode<T> findRunByValue(RunNode<T> head,
+                                         Object value) {
+
+        var currentNode = head;
+        while (currentNode != null) {
+
+            if (Objects.equals(value, currentNode.getValue())) {
+                return currentNode;
+            }
+
+            currentNode = currentNode.getNext();
+        }
+
+        return null;
+    }
+
+    /**
+     * @param head  First RunNode of the chain
+     * @param index Search index of the expanded records
+     * @param <T>   Generic value stored in RunNode
+     * @return Returns the RunNode covering the given index. If no RunNode covers that index, then this is an IndexOutOfBoundsException
+     */
+    public <T> RunNode<T> findRunByIndex(RunNode<T> head,
+                                         int index) {
+
+        //index must be at least 0
+        if (index < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        var current = head;
+        var remaining = index;
+
+        while (current != null) {
+
+            if (remaining < current.getCount()) {
+                return current;
+            }
+
+            remaining -= current.getCount();
+            current = current.getNext();
+        }
+
+        throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Adds one occurrence of the value. If a run of an equal value (according to the Comparator) exists, only its count is incremented,
+     * otherwise a new run is linked to the correct location.
+     *
+     * @param head       First RunNode of the chain, may be null for empty chain
+     * @param comparator Comparator for comparing individual records
+     * @param newValue   Value to insert
+     * @param <T>        Generic value stored in RunNode
+     * @return Returns the run holding the inserted value. A newly created run has count 1 and becomes the new head when it has no previous run
+     */
+    public <T> RunNode<T> performInsert(RunNode<T> head,
+                                        Comparator<T> comparator,
+                                        T newValue) {
+
+        //head is empty -> value become head
+        if (head == null) {
+            return new RunNode<>(newValue);
+        }
+
+        var currentNode = head;
+        while (true) {
+            var compared = comparator.compare(newValue, currentNode.getValue());
+
+            //equal value already has its run
+            if (compared == 0) {
+                currentNode.setCount(currentNode.getCount() + 1);
+                return currentNode;
+            }
+
+            //if is less we can add to this position (before head too)
+            if (compared < 0) {
+                var leftNeighbour = currentNode.getPrev();
+                var newNode = new RunNode<>(newValue, 1, leftNeighbour, currentNode);
+
+                //now fix the chain
+                if (leftNeighbour != null) {
+                    leftNeighbour.setNext(newNode);
+                }
+                currentNode.setPrev(newNode);
+                return newNode;
+            }
+
+            //reach end we can insert
+            if (currentNode.getNext() == null) {
+                var newNode = new RunNode<>(newValue, 1, currentNode, null);
+                currentNode.setNext(newNode);
+                return newNode;
+            }
+
+            currentNode = currentNode.getNext();
+        }
+    }
+
+    /**
+     * Removes one occurrence of the run. When the last occurrence is removed, the run is unlinked and the neighbor bindings are fixed.
+     *
+     * @param head First RunNode of the chain
+     * @param node Run to decrement
+     * @param <T>  Generic value stored in RunNode
+     * @return Returns new head after delete
+     */
+    public <T> RunNode<T> performDelete(RunNode<T> head,
+                                        RunNode<T> node) {
+
+        if (node.getCount() > 1) {
+            node.setCount(node.getCount() - 1);
+            return head;
+        }
+
+        var leftNeighbour = node.getPrev();
+        var rightNeighbour = node.getNext();
+
+        if (leftNeighbour != null) {
+            leftNeighbour.setNext(rightNeighbour);
+        }
+
+        if (rightNeighbour != null) {
+            rightNeighbour.setPrev(leftNeighbour);
+        }
+
+        node.clear();
+        return head == node ? rightNeighbour : head;
+    }
+
+    /**
+     * Copies the chain into freshly allocated RunNodes in the list order and clears the old RunNodes.
+     * After heavy churn this restores allocation locality of neighbouring RunNodes.
+     *
+     * @param head First RunNode of the chain
+     * @param <T>  Generic value stored in RunNode
+     * @return Returns head of the new chain
+     */
+    public <T> RunNode<T> performCompact(RunNode<T> head) {
+        RunNode<T> newHead = null;
+        RunNode<T> tail = null;
+
+        var currentNode = head;
+        while (currentNode != null) {
+            var newNode = new RunNode<>(currentNode.getValue(), currentNode.getCount(), tail, null);
+
+            if (tail == null) {
+                newHead = newNode;
+            } else {
+                tail.setNext(newNode);
+            }
+
+            tail = newNode;
+            currentNode = currentNode.getNext();
+        }
+
+        performClear(head);
+        return newHead;
+    }
+
+    /**
+     * Sets the value of all runs to null
+     *
+     * @param head First RunNode of the chain
+     * @param <T>  Generic value stored in RunNode
+     */
+    public <T> void performClear(RunNode<T> head) {
+        RunNode<T> currentNode = head;
+        RunNode<T> nextNode;
+
+        while (currentNode != null) {
+            nextNode = currentNode.getNext();
+            currentNode.clear();
+            currentNode = nextNode;
+        }
+    }
+
+    /**
+     * Converts the chain to an Object array with every run expanded to its occurrences
+     *
+     * @param head First RunNode of the chain
+     * @param size Number of records (sum of all counts)
+     * @param <T>  Generic value stored in RunNode
+     * @return Returns an array of Objects
+     */
+    public <T> Object[] convertToArray(RunNode<T> head,
+                                       int size) {
+
+        var array = new Object[size];
+        var currentNode = head;
+        var idx = 0;
+
+        while (currentNode != null) {
+            for (var occurrence = 0; occurrence < currentNode.getCount(); occurrence++) {
+                array[idx++] = currentNode.getValue();
+            }
+            currentNode = currentNode.getNext();
+        }
+
+        return array;
+    }
+
+}
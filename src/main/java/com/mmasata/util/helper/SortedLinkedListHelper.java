@@ -1,8 +1,10 @@
 package com.mmasata.util.helper;
 
+import com.mmasata.util.iterator.SortedLinkedListIterator;
 import com.mmasata.util.model.Node;
 
 import java.util.Comparator;
+import java.util.Iterator;
 
 /**
  * Helper class for processing algorithms over custom data structure SortedLinkedList
@@ -21,6 +23,12 @@ public class SortedLinkedListHelper {
         var currentNode = head;
         while (currentNode != null) {
 
+            //tombstones do not hold a record anymore
+            if (currentNode.isDeleted()) {
+                currentNode = currentNode.getNext();
+                continue;
+            }
+
             if (value != null && value.equals(currentNode.getValue())) {
                 return currentNode;
             }
@@ -54,6 +62,12 @@ public class SortedLinkedListHelper {
 
         while (current != null) {
 
+            //tombstones are not counted
+            if (current.isDeleted()) {
+                current = current.getNext();
+                continue;
+            }
+
             if (index == currentIndex) {
                 return current;
             }
@@ -129,7 +143,8 @@ public class SortedLinkedListHelper {
 
         var currentNode = head;
         while (true) {
-            var satisfied = comparator.compare(newValue, currentNode.getValue()) <= 0;
+            //tombstones are skipped, the position among them does not matter
+            var satisfied = !currentNode.isDeleted() && comparator.compare(newValue, currentNode.getValue()) <= 0;
 
             //if is equal or less, and we are on head, then become new head
             if (satisfied && currentNode == head) {
@@ -160,6 +175,238 @@ public class SortedLinkedListHelper {
         }
     }
 
+    /**
+     * Inserts the value at the same position as performInsert, but searches from the given finger Node (typically the last inserted one)
+     * instead of from head. The search gallops from the finger in exponentially growing steps, comparing only at the step boundaries,
+     * and then scans the last bracket. A linked chain cannot skip Nodes, so the steps still follow the prev/next links one by one:
+     * galloping saves comparisons, not pointer steps, and an insertion point d records away from the finger costs O(d).
+     * For presorted or nearly sorted input the insertion point is next to the finger, so an insert costs O(1).
+     *
+     * @param head       First SortedLinkedList Node
+     * @param finger     Live Node of the chain to start from, null to start from head
+     * @param comparator Comparator of the SortedLinkedList
+     * @param newValue   Value to be inserted
+     * @param <T>        Generic value stored in Node
+     * @return Returns the new Node, it is the new head if it has no previous Node
+     */
+    public <T> Node<T> performInsertFrom(Node<T> head,
+                                         Node<T> finger,
+                                         Comparator<T> comparator,
+                                         T newValue) {
+
+        var start = finger != null ? finger : stepForward(head, 0);
+
+        //no live record -> the position among tombstones does not matter, value becomes head
+        if (start == null) {
+            var newHead = new Node<>(newValue, null, head);
+            if (head != null) {
+                head.setPrev(newHead);
+            }
+            return newHead;
+        }
+
+        if (comparator.compare(newValue, start.getValue()) > 0) {
+            return insertAfter(gallopForward(start, comparator, newValue), comparator, newValue);
+        }
+
+        return insertBefore(gallopBackward(start, comparator, newValue), comparator, newValue);
+    }
+
+    /**
+     * @param from Node of the chain to start from
+     * @param <T>  Generic value stored in Node
+     * @return Returns the last Node of the chain, null for an empty chain
+     */
+    public <T> Node<T> findTail(Node<T> from) {
+        var tail = from;
+        while (tail != null && tail.getNext() != null) {
+            tail = tail.getNext();
+        }
+        return tail;
+    }
+
+    /**
+     * @param tail Last Node of the chain
+     * @param <T>  Generic value stored in Node
+     * @return Returns the last Node which is not a tombstone, null if there is none
+     */
+    public <T> Node<T> findLastLive(Node<T> tail) {
+        return stepBackward(tail, 0);
+    }
+
+    /**
+     * @param from Node of the chain to start from
+     * @param <T>  Generic value stored in Node
+     * @return Returns the first Node from the given one which is not a tombstone, null if there is none
+     */
+    public <T> Node<T> findFirstLive(Node<T> from) {
+        return stepForward(from, 0);
+    }
+
+    /**
+     * Counts the index of a Node inserted near a finger Node with a known index. The chain is walked from the finger in both directions at once,
+     * so the cost is proportional to the distance between both Nodes, which is the stretch performInsertFrom galloped over.
+     *
+     * @param finger     Live Node the insert started from
+     * @param fingerRank Index of the finger before the insert
+     * @param node       Node inserted by performInsertFrom
+     * @param <T>        Generic value stored in Node
+     * @return Returns the index of the inserted Node, tombstones are not counted
+     */
+    public <T> int findRankFrom(Node<T> finger,
+                                int fingerRank,
+                                Node<T> node) {
+        var forward = finger.getNext();
+        var backward = finger.getPrev();
+        var liveAfter = 0;
+        var liveBefore = 0;
+
+        while (true) {
+            if (forward == node) {
+                return fingerRank + 1 + liveAfter;
+            }
+            if (backward == node) {
+                return fingerRank - liveBefore;
+            }
+
+            if (forward != null) {
+                liveAfter += forward.isDeleted() ? 0 : 1;
+                forward = forward.getNext();
+            }
+            if (backward != null) {
+                liveBefore += backward.isDeleted() ? 0 : 1;
+                backward = backward.getPrev();
+            }
+        }
+    }
+
+    /**
+     * @param head First SortedLinkedList Node
+     * @param node Node linked in the chain
+     * @param <T>  Generic value stored in Node
+     * @return Returns the index of the Node, tombstones are not counted
+     */
+    public <T> int findIndexOfNode(Node<T> head,
+                                   Node<T> node) {
+        var index = 0;
+
+        for (var currentNode = head; currentNode != node; currentNode = currentNode.getNext()) {
+            if (!currentNode.isDeleted()) {
+                index++;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Links the values into a new chain of Nodes in the order in which the iterator returns them.
+     * No comparison is performed, so the values must already be sorted according to the Comparator of the target SortedLinkedList.
+     *
+     * @param values Iterator of already sorted values
+     * @param <T>    Generic value stored in Node
+     * @return Returns head of the new chain or null if there are no values
+     */
+    public <T> Node<T> performLink(Iterator<? extends T> values) {
+        Node<T> head = null;
+        Node<T> tail = null;
+
+        while (values.hasNext()) {
+            var newNode = new Node<T>(values.next(), tail, null);
+
+            if (tail == null) {
+                head = newNode;
+            } else {
+                tail.setNext(newNode);
+            }
+
+            tail = newNode;
+        }
+
+        return head;
+    }
+
+    /**
+     * Appends the second chain behind the last Node of the first chain.
+     * No comparison is performed, so all values of the second chain must be sorted after the values of the first chain.
+     *
+     * @param head      First Node of the chain to append to
+     * @param otherHead First Node of the appended chain
+     * @param <T>       Generic value stored in Node
+     * @return Returns head of the joined chain
+     */
+    public <T> Node<T> performConcat(Node<T> head,
+                                     Node<T> otherHead) {
+
+        if (head == null) {
+            return otherHead;
+        }
+
+        if (otherHead == null) {
+            return head;
+        }
+
+        var tail = head;
+        while (tail.getNext() != null) {
+            tail = tail.getNext();
+        }
+
+        tail.setNext(otherHead);
+        otherHead.setPrev(tail);
+        return head;
+    }
+
+    /**
+     * Copies the chain into freshly allocated Nodes in the list order and clears the old Nodes.
+     * After heavy churn this restores allocation locality of neighbouring Nodes.
+     *
+     * @param head First SortedLinkedList Node
+     * @param <T>  Generic value stored in Node
+     * @return Returns head of the new chain
+     */
+    public <T> Node<T> performCompact(Node<T> head) {
+        var newHead = performLink(new SortedLinkedListIterator<>(head));
+        performClear(head);
+        return newHead;
+    }
+
+    /**
+     * Unlinks all tombstones from the chain in one pass and fixes the neighbor bindings.
+     *
+     * @param head First SortedLinkedList Node
+     * @param <T>  Generic value stored in Node
+     * @return Returns new head after purge
+     */
+    public <T> Node<T> performPurge(Node<T> head) {
+        Node<T> newHead = null;
+        Node<T> lastAlive = null;
+        var currentNode = head;
+
+        while (currentNode != null) {
+            var nextNode = currentNode.getNext();
+
+            if (currentNode.isDeleted()) {
+                currentNode.clear();
+            } else {
+                currentNode.setPrev(lastAlive);
+                if (lastAlive == null) {
+                    newHead = currentNode;
+                } else {
+                    lastAlive.setNext(currentNode);
+                }
+                lastAlive = currentNode;
+            }
+
+            currentNode = nextNode;
+        }
+
+        if (lastAlive != null) {
+            lastAlive.setNext(null);
+        }
+
+        return newHead;
+    }
+
     /**
      * Sets the value of all elements to null and finally clears the entire SortedLinkedList
      *
@@ -192,6 +439,11 @@ public class SortedLinkedListHelper {
         var currentNode = head;
 
         for (var idx = 0; idx < size; idx++) {
+            //tombstones are not part of the records
+            while (currentNode.isDeleted()) {
+                currentNode = currentNode.getNext();
+            }
+
             array[idx] = currentNode.getValue();
             currentNode = currentNode.getNext();
         }
@@ -199,4 +451,122 @@ public class SortedLinkedListHelper {
         return array;
     }
 
+    /**
+     * @return Returns the last live Node sorted before the value, starting from a live Node sorted before it
+     */
+    private <T> Node<T> gallopForward(Node<T> start,
+                                      Comparator<T> comparator,
+                                      T value) {
+        var before = start;
+        var step = 1;
+
+        while (true) {
+            var probe = stepForward(before.getNext(), step - 1);
+            if (probe == null || comparator.compare(value, probe.getValue()) <= 0) {
+                return before;
+            }
+
+            before = probe;
+            step <<= 1;
+        }
+    }
+
+    /**
+     * @return Returns a live Node not sorted before the value, such that only a short scan backward remains, starting from a Node not sorted before it
+     */
+    private <T> Node<T> gallopBackward(Node<T> start,
+                                       Comparator<T> comparator,
+                                       T value) {
+        var notBefore = start;
+        var step = 1;
+
+        while (true) {
+            var probe = stepBackward(notBefore.getPrev(), step - 1);
+            if (probe == null || comparator.compare(value, probe.getValue()) > 0) {
+                return notBefore;
+            }
+
+            notBefore = probe;
+            step <<= 1;
+        }
+    }
+
+    /**
+     * Scans forward from the last live Node sorted before the value and links the value in front of the first live Node not sorted before it
+     */
+    private <T> Node<T> insertAfter(Node<T> before,
+                                    Comparator<T> comparator,
+                                    T value) {
+        var leftNeighbour = before;
+        var currentNode = before.getNext();
+
+        while (currentNode != null && (currentNode.isDeleted() || comparator.compare(value, currentNode.getValue()) > 0)) {
+            leftNeighbour = currentNode;
+            currentNode = currentNode.getNext();
+        }
+
+        var newNode = new Node<>(value, leftNeighbour, currentNode);
+        leftNeighbour.setNext(newNode);
+        if (currentNode != null) {
+            currentNode.setPrev(newNode);
+        }
+        return newNode;
+    }
+
+    /**
+     * Scans backward from a live Node not sorted before the value and links the value in front of the first such Node
+     */
+    private <T> Node<T> insertBefore(Node<T> notBefore,
+                                     Comparator<T> comparator,
+                                     T value) {
+        var rightNeighbour = notBefore;
+        var currentNode = notBefore.getPrev();
+
+        while (currentNode != null) {
+            if (!currentNode.isDeleted()) {
+                if (comparator.compare(value, currentNode.getValue()) > 0) {
+                    break;
+                }
+                rightNeighbour = currentNode;
+            }
+            currentNode = currentNode.getPrev();
+        }
+
+        var leftNeighbour = rightNeighbour.getPrev();
+        var newNode = new Node<>(value, leftNeighbour, rightNeighbour);
+        rightNeighbour.setPrev(newNode);
+        if (leftNeighbour != null) {
+            leftNeighbour.setNext(newNode);
+        }
+        return newNode;
+    }
+
+    /**
+     * @return Returns the live Node the given number of live Nodes after the first live Node from the given one, null if the chain ends
+     */
+    private <T> Node<T> stepForward(Node<T> from,
+                                    int steps) {
+        var remaining = steps;
+        for (var currentNode = from; currentNode != null; currentNode = currentNode.getNext()) {
+            if (!currentNode.isDeleted() && remaining-- == 0) {
+                return currentNode;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Returns the live Node the given number of live Nodes before the first live Node from the given one, null if the chain ends
+     */
+    private <T> Node<T> stepBackward(Node<T> from,
+                                     int steps) {
+        var remaining = steps;
+        for (var currentNode = from; currentNode != null; currentNode = currentNode.getPrev()) {
+            if (!currentNode.isDeleted() && remaining-- == 0) {
+                return currentNode;
+            }
+        }
+        return null;
+    }
+
 }
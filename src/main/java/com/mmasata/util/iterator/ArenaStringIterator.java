@@ -0,0 +1,41 @@
+package com.mmasata.util.iterator;
+
+import com.mmasata.util.arena.Utf8Arena;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over Strings stored in Utf8Arena, every String is materialized only when it is returned
+ */
+public class ArenaStringIterator implements Iterator<String> {
+
+    private final Utf8Arena arena;
+
+    private final long[] addresses;
+
+    private final int size;
+
+    private int index = 0;
+
+    public ArenaStringIterator(Utf8Arena arena, long[] addresses, int size) {
+        this.arena = arena;
+        this.addresses = addresses;
+        this.size = size;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < size;
+    }
+
+    @Override
+    public String next() {
+        if (index >= size) {
+            throw new NoSuchElementException();
+        }
+
+        return arena.read(addresses[index++]);
+    }
+
+}
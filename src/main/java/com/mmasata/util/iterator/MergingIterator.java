@@ -0,0 +1,75 @@
+package com.mmasata.util.iterator;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Iterator lazily merging several already sorted sources into one sorted sequence.
+ * <p>
+ * The head of each source is kept in a binary heap, so each call of next costs O(log k), where k is the number of sources.
+ * Equal values are returned in the order of the sources, so the merge is stable.
+ *
+ * @param <T> Generic value of the merged collections
+ */
+public class MergingIterator<T> implements Iterator<T> {
+
+    private final PriorityQueue<Cursor<T>> heap;
+
+    public MergingIterator(Collection<? extends Iterator<T>> sources,
+                           Comparator<T> comparator) {
+
+        Comparator<Cursor<T>> cursorComparator = (c1, c2) -> {
+            var compared = comparator.compare(c1.value, c2.value);
+            return compared != 0 ? compared : Integer.compare(c1.source, c2.source);
+        };
+        this.heap = new PriorityQueue<>(Math.max(1, sources.size()), cursorComparator);
+
+        var source = 0;
+        for (var iterator : sources) {
+            if (iterator.hasNext()) {
+                heap.add(new Cursor<>(iterator, iterator.next(), source));
+            }
+            source++;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heap.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        var cursor = heap.poll();
+        if (cursor == null) {
+            throw new NoSuchElementException();
+        }
+
+        var value = cursor.value;
+
+        //refill heap from the same source to keep one head per source
+        if (cursor.iterator.hasNext()) {
+            cursor.value = cursor.iterator.next();
+            heap.add(cursor);
+        }
+
+        return value;
+    }
+
+    private static class Cursor<T> {
+
+        private final Iterator<T> iterator;
+        private final int source;
+        private T value;
+
+        private Cursor(Iterator<T> iterator, T value, int source) {
+            this.iterator = iterator;
+            this.value = value;
+            this.source = source;
+        }
+    }
+
+}
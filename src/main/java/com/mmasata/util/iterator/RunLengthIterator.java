@@ -0,0 +1,45 @@
+package com.mmasata.util.iterator;
+
+import com.mmasata.util.model.RunNode;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over run-length encoded chain, which lazily expands every run to its occurrences
+ *
+ * @param <T>
+ */
+public class RunLengthIterator<T> implements Iterator<T> {
+
+    private RunNode<T> current;
+
+    private int returnedFromRun = 0;
+
+    public RunLengthIterator(RunNode<T> head) {
+        this.current = head;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current != null;
+    }
+
+    @Override
+    public T next() {
+        if (current == null) {
+            throw new NoSuchElementException();
+        }
+
+        var value = current.getValue();
+        returnedFromRun++;
+
+        if (returnedFromRun >= current.getCount()) {
+            current = current.getNext();
+            returnedFromRun = 0;
+        }
+
+        return value;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.mmasata.util.iterator;
+
+import com.mmasata.util.model.SkipNode;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Iterator walking the bottom level of skip list based collections
+ *
+ * @param <T>
+ */
+public class SkipListIterator<T> implements Iterator<T> {
+
+    private final Consumer<T> remover;
+
+    private SkipNode<T, ?> current;
+
+    private T lastReturned;
+
+    private boolean removable = false;
+
+    /**
+     * @param sentinel Head sentinel of the skip list, which holds no record
+     */
+    public SkipListIterator(SkipNode<T, ?> sentinel) {
+        this(sentinel, null);
+    }
+
+    /**
+     * @param sentinel Head sentinel of the skip list, which holds no record
+     * @param remover  Removes the first record equal to the given value, null if remove() is not supported
+     */
+    public SkipListIterator(SkipNode<T, ?> sentinel,
+                            Consumer<T> remover) {
+        this.current = sentinel.getNext(0);
+        this.remover = remover;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current != null;
+    }
+
+    @Override
+    public T next() {
+        if (current == null) {
+            throw new NoSuchElementException();
+        }
+
+        lastReturned = current.getValue();
+        removable = true;
+        current = current.getNext(0);
+        return lastReturned;
+    }
+
+    /**
+     * Removes a record equal to the one last returned by next(). Equal records in front of it were already returned,
+     * so the removed one is never a record the iterator has still to return.
+     */
+    @Override
+    public void remove() {
+        if (remover == null) {
+            throw new UnsupportedOperationException("remove");
+        }
+        if (!removable) {
+            throw new IllegalStateException();
+        }
+
+        remover.accept(lastReturned);
+        removable = false;
+    }
+
+}
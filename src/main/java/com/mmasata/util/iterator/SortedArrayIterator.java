@@ -0,0 +1,72 @@
+package com.mmasata.util.iterator;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Iterator over the used part of an array backed sorted collection
+ *
+ * @param <T>
+ */
+public class SortedArrayIterator<T> implements Iterator<T> {
+
+    private final Object[] elements;
+
+    private final IntConsumer remover;
+
+    private int size;
+
+    private int index = 0;
+
+    private boolean removable = false;
+
+    public SortedArrayIterator(Object[] elements, int size) {
+        this(elements, size, null);
+    }
+
+    /**
+     * @param remover Removes the record at the given index by shifting the records behind it within the same array, null if remove() is not supported
+     */
+    public SortedArrayIterator(Object[] elements,
+                               int size,
+                               IntConsumer remover) {
+        this.elements = elements;
+        this.size = size;
+        this.remover = remover;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index < size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (index >= size) {
+            throw new NoSuchElementException();
+        }
+
+        removable = true;
+        return (T) elements[index++];
+    }
+
+    /**
+     * Removes the record last returned by next(), the records behind it move one slot forward
+     */
+    @Override
+    public void remove() {
+        if (remover == null) {
+            throw new UnsupportedOperationException("remove");
+        }
+        if (!removable) {
+            throw new IllegalStateException();
+        }
+
+        remover.accept(--index);
+        size--;
+        removable = false;
+    }
+
+}
@@ -14,7 +14,7 @@ public class SortedLinkedListIterator<T> implements Iterator<T> {
     private Node<T> current;
 
     public SortedLinkedListIterator(Node<T> head) {
-        this.current = head;
+        this.current = skipDeleted(head);
     }
 
     @Override
@@ -25,8 +25,19 @@ public class SortedLinkedListIterator<T> implements Iterator<T> {
     @Override
     public T next() {
         var value = current.getValue();
-        current = current.getNext();
+        current = skipDeleted(current.getNext());
         return value;
     }
 
+    /**
+     * @return Returns the first Node from the given one, which is not a tombstone
+     */
+    private Node<T> skipDeleted(Node<T> node) {
+        var alive = node;
+        while (alive != null && alive.isDeleted()) {
+            alive = alive.getNext();
+        }
+        return alive;
+    }
+
 }
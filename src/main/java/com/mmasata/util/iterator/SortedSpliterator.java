@@ -0,0 +1,68 @@
+package com.mmasata.util.iterator;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Sequential Spliterator over an iterator whose values are already sorted by the given Comparator.
+ * <p>
+ * Reports SORTED together with the Comparator, so that streams built on top of it can skip redundant sorting.
+ *
+ * @param <T> Generic value of the collection
+ */
+public class SortedSpliterator<T> implements Spliterator<T> {
+
+    private final Iterator<T> iterator;
+    private final Comparator<T> comparator;
+    private long remaining;
+
+    public SortedSpliterator(Iterator<T> iterator,
+                             Comparator<T> comparator,
+                             long size) {
+        this.iterator = iterator;
+        this.comparator = comparator;
+        this.remaining = size;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (!iterator.hasNext()) {
+            return false;
+        }
+
+        action.accept(iterator.next());
+        remaining--;
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (iterator.hasNext()) {
+            action.accept(iterator.next());
+        }
+        remaining = 0;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SORTED | SIZED;
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return comparator;
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.mmasata.util.model;
+
+import lombok.Value;
+
+/**
+ * Statistics of the membership filter for tuning its size and false positive probability
+ */
+@Value
+public class FilterStats {
+
+    /**
+     * Number of lookups (contains, remove) passing through the filter
+     */
+    long lookups;
+
+    /**
+     * Number of lookups answered as definitely absent without traversal
+     */
+    long definitelyAbsent;
+
+    /**
+     * Number of lookups the filter let through, but the value was not found
+     */
+    long falsePositives;
+
+    /**
+     * Number of counters of the filter
+     */
+    int counters;
+
+    /**
+     * Number of counters updated for every value
+     */
+    int hashFunctions;
+
+    /**
+     * False positive probability expected with the current number of values
+     */
+    double expectedFalsePositiveProbability;
+
+    /**
+     * @return Returns the share of false positives among the lookups which were let through, NaN if there were none
+     */
+    public double observedFalsePositiveRate() {
+        var passed = lookups - definitelyAbsent;
+        return passed == 0 ? Double.NaN : (double) falsePositives / passed;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.mmasata.util.model;
+
+import lombok.Value;
+
+/**
+ * Aggregate of Integer records. Null records are counted, but they are not part of the sum, min and max.
+ */
+@Value
+public class IntAggregate {
+
+    public static final IntAggregate EMPTY = new IntAggregate(0, 0, null, null);
+
+    long count;
+
+    long sum;
+
+    Integer min;
+
+    Integer max;
+
+    /**
+     * @return Returns arithmetic mean of the records or NaN if there are no records
+     */
+    public double average() {
+        return count == 0 ? Double.NaN : (double) sum / count;
+    }
+
+}
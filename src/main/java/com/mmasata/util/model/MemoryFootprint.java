@@ -0,0 +1,45 @@
+package com.mmasata.util.model;
+
+import lombok.Value;
+
+/**
+ * Estimated heap usage of a collection in bytes, split by the kind of the occupying objects.
+ */
+@Value
+public class MemoryFootprint {
+
+    public static final MemoryFootprint EMPTY = new MemoryFootprint(0, 0, 0);
+
+    /**
+     * Collection objects themselves and their indexes (shard tables, locks, helpers)
+     */
+    long structureBytes;
+
+    /**
+     * Containers linking the records together
+     */
+    long nodeBytes;
+
+    /**
+     * Stored values
+     */
+    long valueBytes;
+
+    /**
+     * @return Returns the sum of all parts
+     */
+    public long total() {
+        return structureBytes + nodeBytes + valueBytes;
+    }
+
+    /**
+     * @param other Footprint to add
+     * @return Returns a new footprint with both footprints summed up
+     */
+    public MemoryFootprint plus(MemoryFootprint other) {
+        return new MemoryFootprint(structureBytes + other.structureBytes,
+                nodeBytes + other.nodeBytes,
+                valueBytes + other.valueBytes);
+    }
+
+}
@@ -1,6 +1,5 @@
 package com.mmasata.util.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 
 /**
@@ -11,7 +10,6 @@ import lombok.Data;
  * @param <T> Generic value of the collection
  */
 @Data
-@AllArgsConstructor
 public class Node<T> {
 
     private T value;
@@ -19,10 +17,29 @@ public class Node<T> {
     private Node<T> prev;
     private Node<T> next;
 
+    /**
+     * Marks a lazily deleted Node (tombstone), which is still linked in the chain, but does not hold a record anymore
+     */
+    private boolean deleted;
+
     public Node(T value) {
         this.value = value;
     }
 
+    public Node(T value, Node<T> prev, Node<T> next) {
+        this.value = value;
+        this.prev = prev;
+        this.next = next;
+    }
+
+    /**
+     * Turns the Node into a tombstone and releases its value
+     */
+    public void markDeleted() {
+        deleted = true;
+        value = null;
+    }
+
     /**
      * Cleans all data inside the container
      */
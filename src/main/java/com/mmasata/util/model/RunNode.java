@@ -0,0 +1,39 @@
+package com.mmasata.util.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Container for a run of equal entries in run-length encoded collections.
+ * <p>
+ * Instead of keeping one Node per occurrence, the value is kept only once together with the number of its occurrences.
+ *
+ * @param <T> Generic value of the collection
+ */
+@Data
+@AllArgsConstructor
+public class RunNode<T> {
+
+    private T value;
+
+    private int count;
+
+    private RunNode<T> prev;
+    private RunNode<T> next;
+
+    public RunNode(T value) {
+        this.value = value;
+        this.count = 1;
+    }
+
+    /**
+     * Cleans all data inside the container
+     */
+    public void clear() {
+        prev = null;
+        next = null;
+        value = null;
+        count = 0;
+    }
+
+}
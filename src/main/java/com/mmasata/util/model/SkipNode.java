@@ -0,0 +1,101 @@
+package com.mmasata.util.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+
+/**
+ * Container for generic entry in skip list based collections.
+ * <p>
+ * On every level the Node keeps a forward reference together with the span it skips: the number of skipped records and their aggregate.
+ * The span at the given level covers the records after this Node up to (and including) the next Node on that level.
+ *
+ * @param <T> Generic value of the collection
+ * @param <A> Aggregate value maintained for the spans
+ */
+public class SkipNode<T, A> {
+
+    @Getter
+    @Setter
+    private T value;
+
+    private SkipNode<T, A>[] next;
+
+    private int[] width;
+
+    private Object[] span;
+
+    @SuppressWarnings("unchecked")
+    public SkipNode(T value, int height) {
+        this.value = value;
+        this.next = (SkipNode<T, A>[]) new SkipNode<?, ?>[height];
+        this.width = new int[height];
+        this.span = new Object[height];
+    }
+
+    /**
+     * @return Returns number of levels on which the Node is linked
+     */
+    public int height() {
+        return next.length;
+    }
+
+    /**
+     * Changes the number of levels, used for the sentinel which grows and shrinks with the highest Node in the list.
+     * Added levels are unlinked, removed levels are dropped with their spans.
+     *
+     * @param height New number of levels
+     */
+    public void resize(int height) {
+        next = Arrays.copyOf(next, height);
+        width = Arrays.copyOf(width, height);
+        span = Arrays.copyOf(span, height);
+    }
+
+    public SkipNode<T, A> getNext(int level) {
+        return next[level];
+    }
+
+    public void setNext(int level, SkipNode<T, A> node) {
+        next[level] = node;
+    }
+
+    /**
+     * @param level Level of the span
+     * @return Returns the number of records covered by the span at the given level
+     */
+    public int getWidth(int level) {
+        return width[level];
+    }
+
+    /**
+     * @param level Level of the span
+     * @return Returns the aggregate of records covered by the span at the given level
+     */
+    @SuppressWarnings("unchecked")
+    public A getSpan(int level) {
+        return (A) span[level];
+    }
+
+    /**
+     * Sets the number of records and their aggregate covered by the span at the given level
+     */
+    public void setSpan(int level, int width, A aggregate) {
+        this.width[level] = width;
+        this.span[level] = aggregate;
+    }
+
+    /**
+     * Cleans all data inside the container
+     */
+    public void clear() {
+        value = null;
+        for (var level = 0; level < next.length; level++) {
+            next[level] = null;
+            span[level] = null;
+            width[level] = 0;
+        }
+    }
+
+}
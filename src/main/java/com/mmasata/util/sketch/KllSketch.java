@@ -0,0 +1,399 @@
+package com.mmasata.util.sketch;
+
+import com.mmasata.util.comparator.AlphabeticalOrderStringComparator;
+import com.mmasata.util.comparator.AscOrderIntegerComparator;
+import com.mmasata.util.helper.FootprintHelper;
+import com.mmasata.util.model.MemoryFootprint;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Approximate companion of SortedLinkedList for unbounded streams where only quantiles and ranks are needed (e.g. latency percentiles).
+ * <p>
+ * KLL sketch: records are appended to a hierarchy of compactors, level h holding records of weight 2^h. Once the sketch exceeds its capacity,
+ * the lowest full level is sorted and every other record (starting at a random offset) is promoted to the level above, the rest is dropped.
+ * Capacities decrease geometrically (factor 2/3) from k at the top level, so the sketch retains O(k) records regardless of the stream length.
+ * <p>
+ * add() is amortized O(1) apart from sorting a level on compaction, quantile(), get() and rank() work on a sorted view of the retained records,
+ * which is rebuilt only after a change. The rank error is proportional to 1/k, about 1-2 % of the stream for the default k = 200.
+ * Sketches built on different threads are combined by merge(). The sketch itself is not thread-safe.
+ *
+ * @param <T> Generic value of the stream
+ */
+@NoArgsConstructor(access = PRIVATE)
+public class KllSketch<T> {
+
+    public static final int DEFAULT_K = 200;
+
+    /**
+     * Minimal capacity of a level, narrower levels would compact too often
+     */
+    private static final int MIN_LEVEL_CAPACITY = 8;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3;
+
+    private Comparator<T> comparator;
+
+    private int k;
+
+    private Random random;
+
+    private List<List<T>> levels;
+
+    private long size = 0;
+
+    private int retained = 0;
+
+    private Object[] sortedItems;
+
+    private long[] cumulativeWeights;
+
+
+    /**
+     * Static method constructing sketch for Integers
+     *
+     * @return Returns an instance of KllSketch
+     */
+    public static KllSketch<Integer> createForInts() {
+        return createForInts(new AscOrderIntegerComparator(), DEFAULT_K);
+    }
+
+    /**
+     * Static method constructing sketch for Integers
+     * Using a custom comparator and accuracy.
+     *
+     * @param k Capacity of the top level, the rank error is proportional to 1/k
+     * @return Returns an instance of KllSketch
+     */
+    public static KllSketch<Integer> createForInts(Comparator<Integer> customComparator,
+                                                  int k) {
+        return create(customComparator, k, new Random());
+    }
+
+    /**
+     * Static method constructing sketch for Strings
+     *
+     * @return Returns an instance of KllSketch
+     */
+    public static KllSketch<String> createForStrings() {
+        return createForStrings(new AlphabeticalOrderStringComparator(), DEFAULT_K);
+    }
+
+    /**
+     * Static method constructing sketch for Strings
+     * Using a custom comparator and accuracy.
+     *
+     * @param k Capacity of the top level, the rank error is proportional to 1/k
+     * @return Returns an instance of KllSketch
+     */
+    public static KllSketch<String> createForStrings(Comparator<String> customComparator,
+                                                    int k) {
+        return create(customComparator, k, new Random());
+    }
+
+    /**
+     * @param random Source of the compaction offsets, a seeded instance makes the sketch reproducible
+     */
+    static <T> KllSketch<T> create(Comparator<T> customComparator,
+                                   int k,
+                                   Random random) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_LEVEL_CAPACITY);
+        }
+
+        var sketch = new KllSketch<T>();
+        sketch.comparator = customComparator;
+        sketch.k = k;
+        sketch.random = random;
+        sketch.levels = new ArrayList<>();
+        sketch.levels.add(new ArrayList<>());
+        return sketch;
+    }
+
+    /**
+     * Adds a record to the sketch
+     *
+     * @param t Record of the stream
+     */
+    public void add(T t) {
+        levels.get(0).add(t);
+        size++;
+        retained++;
+        sortedItems = null;
+
+        if (retained > capacity()) {
+            compress();
+        }
+    }
+
+    /**
+     * @param c Records of the stream
+     */
+    public void addAll(Collection<? extends T> c) {
+        c.forEach(this::add);
+    }
+
+    /**
+     * Adds all records summarized by the other sketch, the other sketch is not modified.
+     * Both sketches must use the same Comparator, the accuracy of this sketch is kept.
+     * A sketch can be merged with itself, which counts every record twice.
+     *
+     * @param other Sketch to merge, e.g. built on another thread
+     * @throws IllegalArgumentException if the other sketch is not ordered by an equal Comparator
+     */
+    public void merge(KllSketch<T> other) {
+        if (!Objects.equals(comparator, other.comparator)) {
+            throw new IllegalArgumentException("Merged sketches must be ordered by an equal Comparator");
+        }
+
+        //copied before any level is extended, as the other sketch may be this one
+        var otherLevels = other.levels.stream().map(ArrayList::new).toList();
+        var otherSize = other.size;
+
+        for (var level = 0; level < otherLevels.size(); level++) {
+            while (levels.size() <= level) {
+                levels.add(new ArrayList<>());
+            }
+
+            levels.get(level).addAll(otherLevels.get(level));
+            retained += otherLevels.get(level).size();
+        }
+
+        size += otherSize;
+        sortedItems = null;
+
+        while (retained > capacity()) {
+            compress();
+        }
+    }
+
+    /**
+     * @return Returns the number of records added to the sketch
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return Returns true if no record was added
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return Returns the number of records retained by the sketch
+     */
+    public int retainedItems() {
+        return retained;
+    }
+
+    /**
+     * @return Returns the accuracy parameter of the sketch
+     */
+    public int k() {
+        return k;
+    }
+
+    /**
+     * @return Returns the comparator used to order the records
+     */
+    public Comparator<T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * @param quantile Requested quantile (0 to 1), 0.5 is the median
+     * @return Returns approximately the record with the nearest rank ceil(quantile * size), the minimum for 0
+     */
+    public T quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        ensureNotEmpty();
+
+        return get(Math.max(0, (long) Math.ceil(quantile * size) - 1));
+    }
+
+    /**
+     * Approximation of SortedLinkedList.get over the whole stream
+     *
+     * @param index Index in the sorted stream
+     * @return Returns approximately the record at the given index
+     */
+    @SuppressWarnings("unchecked")
+    public T get(long index) {
+        Objects.checkIndex(index, size);
+        ensureSortedView();
+
+        var position = Arrays.binarySearch(cumulativeWeights, index + 1);
+        return (T) sortedItems[position >= 0 ? position : -position - 1];
+    }
+
+    /**
+     * @param value Searched value
+     * @return Returns approximately the number of records sorted before the value, i.e. the index it would be inserted at
+     */
+    @SuppressWarnings("unchecked")
+    public long rank(T value) {
+        ensureSortedView();
+
+        var low = 0;
+        var high = sortedItems.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (comparator.compare((T) sortedItems[middle], value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low == 0 ? 0 : cumulativeWeights[low - 1];
+    }
+
+    /**
+     * @param value Searched value
+     * @return Returns approximately the share of records sorted before the value (0 to 1)
+     */
+    public double normalizedRank(T value) {
+        return size == 0 ? 0 : (double) rank(value) / size;
+    }
+
+    /**
+     * Removes all records from the sketch
+     */
+    public void clear() {
+        levels.clear();
+        levels.add(new ArrayList<>());
+        size = 0;
+        retained = 0;
+        sortedItems = null;
+    }
+
+    /**
+     * @return Returns an estimate of the heap occupied by the sketch, split into its structure, level arrays and retained values
+     */
+    public MemoryFootprint estimateFootprint() {
+        var footprintHelper = new FootprintHelper();
+
+        //sketch itself (comparator, random, levels, sorted view, k, size, retained), random generator and the list of levels
+        var structureBytes = footprintHelper.objectFootprint(5, 2 * Integer.BYTES + Long.BYTES)
+                + footprintHelper.objectFootprint(1, Long.BYTES)
+                + footprintHelper.objectFootprint(1, 2 * Integer.BYTES)
+                + footprintHelper.referenceArrayFootprint(levels.size());
+
+        var levelBytes = 0L;
+        var valueBytes = 0L;
+        for (var level : levels) {
+            levelBytes += footprintHelper.objectFootprint(1, 2 * Integer.BYTES) + footprintHelper.referenceArrayFootprint(level.size());
+            for (var value : level) {
+                valueBytes += footprintHelper.valueFootprint(value);
+            }
+        }
+
+        return new MemoryFootprint(structureBytes, levelBytes, valueBytes);
+    }
+
+    /**
+     * @return Returns capacity of the whole sketch for the current number of levels
+     */
+    private int capacity() {
+        var capacity = 0;
+        for (var level = 0; level < levels.size(); level++) {
+            capacity += levelCapacity(level);
+        }
+        return capacity;
+    }
+
+    private int levelCapacity(int level) {
+        var depth = levels.size() - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    /**
+     * Compacts the lowest full level into the level above, the total weight of the records is preserved
+     */
+    private void compress() {
+        var level = 0;
+        while (levels.get(level).size() < levelCapacity(level)) {
+            level++;
+        }
+
+        if (level + 1 == levels.size()) {
+            levels.add(new ArrayList<>());
+        }
+
+        var compacted = levels.get(level);
+        var upper = levels.get(level + 1);
+        compacted.sort(comparator);
+
+        //an odd record stays on its level, the rest halves into records of double weight
+        var pairs = compacted.size() & ~1;
+        var odd = pairs < compacted.size();
+        var leftover = odd ? compacted.get(pairs) : null;
+        var offset = random.nextBoolean() ? 1 : 0;
+
+        for (var idx = offset; idx < pairs; idx += 2) {
+            upper.add(compacted.get(idx));
+        }
+
+        compacted.clear();
+        if (odd) {
+            compacted.add(leftover);
+        }
+
+        retained -= pairs / 2;
+    }
+
+    /**
+     * Builds the retained records sorted by the Comparator with cumulative weights
+     */
+    @SuppressWarnings("unchecked")
+    private void ensureSortedView() {
+        if (sortedItems != null) {
+            return;
+        }
+
+        var items = new Object[retained];
+        var weights = new long[retained];
+        var position = 0;
+
+        for (var level = 0; level < levels.size(); level++) {
+            for (var value : levels.get(level)) {
+                items[position] = value;
+                weights[position++] = 1L << level;
+            }
+        }
+
+        var order = new Integer[retained];
+        Arrays.setAll(order, idx -> idx);
+        Arrays.sort(order, (first, second) -> comparator.compare((T) items[first], (T) items[second]));
+
+        sortedItems = new Object[retained];
+        cumulativeWeights = new long[retained];
+        var cumulative = 0L;
+
+        for (var idx = 0; idx < retained; idx++) {
+            sortedItems[idx] = items[order[idx]];
+            cumulative += weights[order[idx]];
+            cumulativeWeights[idx] = cumulative;
+        }
+    }
+
+    private void ensureNotEmpty() {
+        if (size == 0) {
+            throw new IllegalStateException("Sketch is empty");
+        }
+    }
+
+}
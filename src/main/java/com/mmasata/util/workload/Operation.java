@@ -0,0 +1,56 @@
+package com.mmasata.util.workload;
+
+/**
+ * Operations of SortedLinkedList captured in the workload trace, every operation is written as its one byte code
+ */
+public enum Operation {
+    ADD(1, false, true),
+    REMOVE(2, false, true),
+    CONTAINS(3, false, true),
+    GET(4, true, false),
+    SET(5, true, true),
+    CLEAR(6, false, false);
+
+    private final byte code;
+
+    private final boolean withIndex;
+
+    private final boolean withValue;
+
+    Operation(int code, boolean withIndex, boolean withValue) {
+        this.code = (byte) code;
+        this.withIndex = withIndex;
+        this.withValue = withValue;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * @return Returns true if the index argument is part of the trace entry
+     */
+    public boolean withIndex() {
+        return withIndex;
+    }
+
+    /**
+     * @return Returns true if the value argument is part of the trace entry
+     */
+    public boolean withValue() {
+        return withValue;
+    }
+
+    /**
+     * @param code One byte code from the trace
+     * @return Returns the operation of the given code
+     */
+    public static Operation ofCode(byte code) {
+        for (var operation : values()) {
+            if (operation.code == code) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation code " + code);
+    }
+}
@@ -0,0 +1,295 @@
+package com.mmasata.util.workload;
+
+import com.mmasata.util.SortedLinkedList;
+import com.mmasata.util.exception.MethodNotImplementedException;
+import com.mmasata.util.model.MemoryFootprint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Decorator of any SortedLinkedList capturing add, remove, contains, get, set and clear operations into a binary trace.
+ * <p>
+ * Every operation is written with its arguments, start time and duration, the trace can be replayed later by WorkloadReplayer against another implementation.
+ * Bulk operations are captured as the individual operations they consist of. The operation is captured even if it fails, the replay then fails the same way.
+ * A failure of the trace output never hides the failure of the operation itself, it is attached to it as suppressed.
+ * contains and remove of a value the codec cannot encode (a foreign type) are not captured.
+ * <p>
+ * Entries are buffered, the trace is complete only after close().
+ *
+ * @param <T> Generic value of the collection
+ */
+public class RecordingSortedLinkedList<T> implements SortedLinkedList<T>, Closeable {
+
+    private final SortedLinkedList<T> delegate;
+
+    private final TraceWriter<T> writer;
+
+    private final long recordingStart;
+
+
+    /**
+     * @param delegate Recorded SortedLinkedList, all operations are performed on it
+     * @param output   Output of the trace
+     * @param codec    Codec of the values
+     */
+    public RecordingSortedLinkedList(SortedLinkedList<T> delegate,
+                                     OutputStream output,
+                                     ValueCodec<T> codec) {
+        this.delegate = delegate;
+        this.recordingStart = System.nanoTime();
+        try {
+            this.writer = new TraceWriter<>(output, codec);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return Returns the recorded SortedLinkedList
+     */
+    public SortedLinkedList<T> delegate() {
+        return delegate;
+    }
+
+    /**
+     * @return Returns the number of items in SortedLinkedList
+     */
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    /**
+     * Checks if SortedLinkedList is empty (has no record in it)
+     *
+     * @return Returns true if it has no records. Otherwise, returns false
+     */
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    /**
+     * @param index Searched index
+     * @return Returns an entry at the specified index
+     */
+    @Override
+    public T get(int index) {
+        return capture(Operation.GET, index, null, () -> delegate.get(index));
+    }
+
+    /**
+     * Sets a new value on the given index
+     *
+     * @param index Searched index
+     * @param value New value
+     */
+    @Override
+    public void set(int index, T value) {
+        capture(Operation.SET, index, value, () -> {
+            delegate.set(index, value);
+            return null;
+        });
+    }
+
+    /**
+     * Add new record to the SortedLinkedList
+     *
+     * @param t element whose presence in this collection is to be ensured
+     * @return Returns true if the addition to SortedLinkedList was successful
+     */
+    @Override
+    public boolean add(T t) {
+        return capture(Operation.ADD, 0, t, () -> delegate.add(t));
+    }
+
+    /**
+     * Add new Collection of records to the SortedLinkedList
+     *
+     * @param c collection containing elements to be added to this collection
+     * @return Returns true if adding to SortedLinkedList was successful for all elements
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return c.stream().allMatch(this::add);
+    }
+
+    /**
+     * Checks if the item exists in the SortedLinkedList. If yes, it returns true, otherwise false.
+     *
+     * @param o Element whose presence in this collection is to be tested
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean contains(Object o) {
+        return capture(Operation.CONTAINS, 0, o, () -> delegate.contains(o));
+    }
+
+    /**
+     * Checks if the all items in the Collection exists in the SortedLinkedList. If yes, it returns true, otherwise false.
+     *
+     * @param c collection to be checked for containment in this collection
+     * @return Returns a boolean about the existence of an item in SortedLinkedList
+     */
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return c.stream().allMatch(this::contains);
+    }
+
+    /**
+     * Attempts to find an entry in SortedLinkedList. If it finds it, then deletes it.
+     *
+     * @param o element to be removed from this collection, if present
+     * @return Returns true if the record was deleted, otherwise returns false and the record does not exist in SortedLinkedList
+     */
+    @Override
+    public boolean remove(Object o) {
+        return capture(Operation.REMOVE, 0, o, () -> delegate.remove(o));
+    }
+
+    /**
+     * Attempts to find each entry in the Collection in SortedLinkedList. If it finds it, then deletes it.
+     *
+     * @param c collection containing elements to be removed from this collection
+     * @return Returns true if the records was deleted, otherwise returns false.
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return c.stream().allMatch(this::remove);
+    }
+
+    /**
+     * Clears the entire SortedLinkedList
+     */
+    @Override
+    public void clear() {
+        capture(Operation.CLEAR, 0, null, () -> {
+            delegate.clear();
+            return null;
+        });
+    }
+
+    /**
+     * @return Returns the comparator used to sort the records in the collection.
+     */
+    @Override
+    public Comparator<T> comparator() {
+        return delegate.comparator();
+    }
+
+    /**
+     * @return Returns an estimate of the heap occupied by the recorded collection
+     */
+    @Override
+    public MemoryFootprint estimateFootprint() {
+        return delegate.estimateFootprint();
+    }
+
+    @Override
+    public void compact() {
+        delegate.compact();
+    }
+
+    /**
+     * @return Returns iterator for SortedLinkedList, iteration is not captured
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return delegate.iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return delegate.toArray();
+    }
+
+    @Override
+    public <T1> T1[] toArray(T1[] a) {
+        throw new MethodNotImplementedException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new MethodNotImplementedException();
+    }
+
+    /**
+     * Flushes the buffered entries to the output
+     */
+    public void flush() {
+        synchronized (writer) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Flushes the buffered entries and closes the output
+     */
+    @Override
+    public void close() {
+        synchronized (writer) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Performs the operation on the delegate and captures it, also when it fails
+     */
+    private <R> R capture(Operation operation,
+                          int index,
+                          Object value,
+                          Supplier<R> action) {
+        var start = System.nanoTime();
+        R result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error e) {
+            try {
+                record(operation, start, index, value);
+            } catch (RuntimeException recordFailure) {
+                e.addSuppressed(recordFailure);
+            }
+            throw e;
+        }
+
+        record(operation, start, index, value);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void record(Operation operation,
+                        long start,
+                        int index,
+                        Object value) {
+        var duration = System.nanoTime() - start;
+
+        synchronized (writer) {
+            try {
+                writer.write(operation, Math.max(0, start - recordingStart), duration, index, (T) value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (ClassCastException e) {
+                //only contains and remove accept any Object, the codec rejected a foreign type and nothing was written
+                if (operation != Operation.CONTAINS && operation != Operation.REMOVE) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.mmasata.util.workload;
+
+import lombok.Value;
+
+/**
+ * Result of replaying a workload trace against a SortedLinkedList
+ */
+@Value
+public class ReplayReport {
+
+    /**
+     * Number of replayed operations
+     */
+    long operations;
+
+    /**
+     * Number of replayed operations which threw an exception
+     */
+    long failures;
+
+    /**
+     * Sum of the latencies of all operations
+     */
+    long elapsedNanos;
+
+    long p50Nanos;
+
+    long p90Nanos;
+
+    long p99Nanos;
+
+    long p999Nanos;
+
+    long maxNanos;
+
+    /**
+     * Bytes allocated by the replaying thread, -1 if the JVM does not support the measurement
+     */
+    long allocatedBytes;
+
+    /**
+     * @return Returns replayed operations per second
+     */
+    public double throughput() {
+        return elapsedNanos == 0 ? 0 : operations * 1_000_000_000d / elapsedNanos;
+    }
+
+    /**
+     * @return Returns allocated bytes per second, -1 if the JVM does not support the measurement
+     */
+    public double allocationRate() {
+        if (allocatedBytes < 0) {
+            return -1;
+        }
+        return elapsedNanos == 0 ? 0 : allocatedBytes * 1_000_000_000d / elapsedNanos;
+    }
+
+    /**
+     * @return Returns allocated bytes per operation, -1 if the JVM does not support the measurement
+     */
+    public double allocatedBytesPerOperation() {
+        if (allocatedBytes < 0) {
+            return -1;
+        }
+        return operations == 0 ? 0 : (double) allocatedBytes / operations;
+    }
+
+}
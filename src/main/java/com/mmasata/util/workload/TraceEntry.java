@@ -0,0 +1,35 @@
+package com.mmasata.util.workload;
+
+import lombok.Value;
+
+/**
+ * One captured operation of the workload trace
+ *
+ * @param <T> Generic value of the collection
+ */
+@Value
+public class TraceEntry<T> {
+
+    Operation operation;
+
+    /**
+     * Time of the operation start, relative to the start of the recording
+     */
+    long startNanos;
+
+    /**
+     * Duration of the operation in the recorded process
+     */
+    long durationNanos;
+
+    /**
+     * Index argument of positional operations, otherwise 0
+     */
+    int index;
+
+    /**
+     * Value argument of value operations, otherwise null
+     */
+    T value;
+
+}
@@ -0,0 +1,78 @@
+package com.mmasata.util.workload;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the workload trace written by TraceWriter
+ *
+ * @param <T> Generic value of the collection
+ */
+public class TraceReader<T> implements Closeable {
+
+    private final DataInputStream in;
+
+    private final ValueCodec<T> codec;
+
+    private long lastStartNanos = 0;
+
+    public TraceReader(InputStream input,
+                       ValueCodec<T> codec) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(input, 1 << 16));
+        this.codec = codec;
+
+        if (in.readInt() != TraceWriter.MAGIC) {
+            throw new IOException("Input is not a workload trace");
+        }
+
+        var version = in.readByte();
+        if (version != TraceWriter.VERSION) {
+            throw new IOException("Unsupported workload trace version " + version);
+        }
+    }
+
+    /**
+     * @return Returns the next entry or null at the end of the trace
+     */
+    public TraceEntry<T> read() throws IOException {
+        int code;
+        try {
+            code = in.readByte();
+        } catch (EOFException e) {
+            return null;
+        }
+
+        var operation = Operation.ofCode((byte) code);
+        var startNanos = lastStartNanos + Varints.readUnsigned(in);
+        var durationNanos = Varints.readUnsigned(in);
+        lastStartNanos = startNanos;
+
+        var index = operation.withIndex() ? (int) Varints.readSigned(in) : 0;
+        var value = operation.withValue() ? codec.read(in) : null;
+
+        return new TraceEntry<>(operation, startNanos, durationNanos, index, value);
+    }
+
+    /**
+     * @return Returns all remaining entries of the trace
+     */
+    public List<TraceEntry<T>> readAll() throws IOException {
+        var entries = new ArrayList<TraceEntry<T>>();
+        for (var entry = read(); entry != null; entry = read()) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.mmasata.util.workload;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the workload trace in compact binary form.
+ * <p>
+ * The trace starts with a magic number and version, every entry then consists of the operation code, the start time delta to the previous entry and
+ * the duration (both variable length nanoseconds), followed by the index and value arguments if the operation has them.
+ * <p>
+ * The value is encoded before anything else is written, so an entry the codec fails on leaves the trace unchanged.
+ *
+ * @param <T> Generic value of the collection
+ */
+public class TraceWriter<T> implements Closeable {
+
+    static final int MAGIC = 0x534C4C54;
+
+    static final byte VERSION = 1;
+
+    private final DataOutputStream out;
+
+    private final ValueCodec<T> codec;
+
+    private final ByteArrayOutputStream valueBuffer = new ByteArrayOutputStream();
+
+    private final DataOutputStream valueOut = new DataOutputStream(valueBuffer);
+
+    private long lastStartNanos = 0;
+
+    public TraceWriter(OutputStream output,
+                       ValueCodec<T> codec) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(output, 1 << 16));
+        this.codec = codec;
+
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    /**
+     * @param operation     Captured operation
+     * @param startNanos    Start of the operation relative to the start of the recording. Concurrent callers may pass
+     *                      an earlier start than the previous entry, it is then written as the start of the previous entry.
+     * @param durationNanos Duration of the operation
+     * @param index         Index argument, ignored for operations without it
+     * @param value         Value argument, ignored for operations without it
+     */
+    public void write(Operation operation,
+                      long startNanos,
+                      long durationNanos,
+                      int index,
+                      T value) throws IOException {
+
+        valueBuffer.reset();
+        if (operation.withValue()) {
+            codec.write(valueOut, value);
+        }
+
+        //the start delta must not be negative, otherwise it would take ten bytes and break the order of the trace
+        var start = Math.max(startNanos, lastStartNanos);
+        out.writeByte(operation.code());
+        Varints.writeUnsigned(out, start - lastStartNanos);
+        Varints.writeUnsigned(out, durationNanos);
+        lastStartNanos = start;
+
+        if (operation.withIndex()) {
+            Varints.writeSigned(out, index);
+        }
+
+        valueBuffer.writeTo(out);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+}
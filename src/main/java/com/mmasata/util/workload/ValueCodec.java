@@ -0,0 +1,26 @@
+package com.mmasata.util.workload;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary encoding of the values stored in the traced SortedLinkedList
+ *
+ * @param <T> Generic value of the collection
+ */
+public interface ValueCodec<T> {
+
+    /**
+     * @param out   Trace output
+     * @param value Value to write, may be null
+     */
+    void write(DataOutput out, T value) throws IOException;
+
+    /**
+     * @param in Trace input
+     * @return Returns the value read from the trace
+     */
+    T read(DataInput in) throws IOException;
+
+}
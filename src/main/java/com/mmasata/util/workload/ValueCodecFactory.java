@@ -0,0 +1,62 @@
+package com.mmasata.util.workload;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Factory class for creating built-in library value codecs.
+ * Every value is prefixed by one byte telling whether it is null.
+ */
+public class ValueCodecFactory {
+
+    /**
+     * @return Returns codec writing Integers as variable length numbers
+     */
+    public static ValueCodec<Integer> ints() {
+        return new ValueCodec<>() {
+            @Override
+            public void write(DataOutput out, Integer value) throws IOException {
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    Varints.writeSigned(out, value);
+                }
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                return in.readBoolean() ? (int) Varints.readSigned(in) : null;
+            }
+        };
+    }
+
+    /**
+     * @return Returns codec writing Strings as length prefixed UTF-8
+     */
+    public static ValueCodec<String> strings() {
+        return new ValueCodec<>() {
+            @Override
+            public void write(DataOutput out, String value) throws IOException {
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    var bytes = value.getBytes(StandardCharsets.UTF_8);
+                    Varints.writeUnsigned(out, bytes.length);
+                    out.write(bytes);
+                }
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                if (!in.readBoolean()) {
+                    return null;
+                }
+
+                var bytes = new byte[(int) Varints.readUnsigned(in)];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+}
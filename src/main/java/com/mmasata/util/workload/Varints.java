@@ -0,0 +1,50 @@
+package com.mmasata.util.workload;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Variable length encoding of numbers, 7 bits per byte, so small numbers take a single byte
+ */
+class Varints {
+
+    private Varints() {
+    }
+
+    static void writeUnsigned(DataOutput out, long value) throws IOException {
+        var remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    static long readUnsigned(DataInput in) throws IOException {
+        var value = 0L;
+        var shift = 0;
+
+        while (true) {
+            var current = in.readByte();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+
+    /**
+     * Zigzag encoding keeps small negative numbers short as well
+     */
+    static void writeSigned(DataOutput out, long value) throws IOException {
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readSigned(DataInput in) throws IOException {
+        var encoded = readUnsigned(in);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.mmasata.util.workload;
+
+import com.mmasata.util.SortedLinkedList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replays workload traces captured by RecordingSortedLinkedList against any SortedLinkedList.
+ * <p>
+ * The whole trace is decoded before the replay, so decoding does not distort the measurement.
+ * Operations are replayed back to back on the calling thread, the recorded think time between them is not reproduced.
+ * The allocation rate is measured by the thread allocation counter of the HotSpot ThreadMXBean, the JIT warm-up is left to the caller.
+ */
+public class WorkloadReplayer {
+
+    /**
+     * @param input  Trace input
+     * @param codec  Codec of the values
+     * @param target SortedLinkedList to replay the trace against
+     * @return Returns throughput, latency percentiles and allocation of the replay
+     */
+    public <T> ReplayReport replay(InputStream input,
+                                   ValueCodec<T> codec,
+                                   SortedLinkedList<T> target) throws IOException {
+        try (var reader = new TraceReader<>(input, codec)) {
+            return replay(reader.readAll(), target);
+        }
+    }
+
+    /**
+     * @param entries Decoded trace entries
+     * @param target  SortedLinkedList to replay the entries against
+     * @return Returns throughput, latency percentiles and allocation of the replay
+     */
+    public <T> ReplayReport replay(List<TraceEntry<T>> entries,
+                                   SortedLinkedList<T> target) {
+        var latencies = new long[entries.size()];
+        var failures = 0L;
+        var elapsed = 0L;
+
+        var allocatedBefore = allocatedBytes();
+        for (var idx = 0; idx < latencies.length; idx++) {
+            var entry = entries.get(idx);
+            var start = System.nanoTime();
+            try {
+                perform(entry, target);
+            } catch (RuntimeException e) {
+                failures++;
+            }
+            latencies[idx] = System.nanoTime() - start;
+            elapsed += latencies[idx];
+        }
+        var allocatedAfter = allocatedBytes();
+
+        Arrays.sort(latencies);
+        var allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+
+        return new ReplayReport(latencies.length, failures, elapsed,
+                percentile(latencies, 0.5), percentile(latencies, 0.9), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1],
+                allocated);
+    }
+
+    private <T> void perform(TraceEntry<T> entry,
+                             SortedLinkedList<T> target) {
+        switch (entry.getOperation()) {
+            case ADD -> target.add(entry.getValue());
+            case REMOVE -> target.remove(entry.getValue());
+            case CONTAINS -> target.contains(entry.getValue());
+            case GET -> target.get(entry.getIndex());
+            case SET -> target.set(entry.getIndex(), entry.getValue());
+            case CLEAR -> target.clear();
+        }
+    }
+
+    /**
+     * @return Returns the nearest-rank percentile of sorted latencies
+     */
+    private long percentile(long[] sortedLatencies,
+                            double quantile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+
+        var rank = (int) Math.ceil(quantile * sortedLatencies.length);
+        return sortedLatencies[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * @return Returns bytes allocated by the current thread so far, -1 if not supported
+     */
+    private long allocatedBytes() {
+        var threadMXBean = ManagementFactory.getThreadMXBean();
+
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean hotSpotBean && hotSpotBean.isThreadAllocatedMemorySupported()) {
+            if (!hotSpotBean.isThreadAllocatedMemoryEnabled()) {
+                hotSpotBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return hotSpotBean.getCurrentThreadAllocatedBytes();
+        }
+
+        return -1;
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.mmasata.util;
+
+import com.mmasata.util.adaptive.AdaptivePolicy;
+import com.mmasata.util.adaptive.Migration;
+import com.mmasata.util.adaptive.Representation;
+import com.mmasata.util.comparator.ComparatorFactory;
+import com.mmasata.util.comparator.enums.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveSortedLinkedListTest {
+
+    private static final AdaptivePolicy POLICY = AdaptivePolicy.builder()
+            .evaluationWindow(50)
+            .linkedLeaveSize(100)
+            .linkedEnterSize(20)
+            .build();
+
+    @Test
+    void writeHeavy_migratesToIndexed() {
+        var sortedLinkedList = AdaptiveSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), POLICY);
+        var migrations = new ArrayList<Migration>();
+        sortedLinkedList.setMigrationListener(migrations::add);
+
+        assertEquals(Representation.LINKED, sortedLinkedList.representation());
+        IntStream.range(0, 200).map(value -> 199 - value).forEach(sortedLinkedList::add);
+
+        assertEquals(Representation.INDEXED, sortedLinkedList.representation());
+        assertEquals(1, migrations.size());
+        assertEquals(Representation.LINKED, migrations.get(0).getFrom());
+        assertEquals(1.0, migrations.get(0).getWriteRatio());
+        assertEquals(IntStream.range(0, 200).boxed().toList(), sortedLinkedList.stream().toList());
+    }
+
+    @Test
+    void readHeavy_migratesToArrayAndBackToLinked() {
+        var sortedLinkedList = AdaptiveSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), POLICY);
+        IntStream.range(0, 200).forEach(sortedLinkedList::add);
+
+        //reads only
+        for (var idx = 0; idx < 100; idx++) {
+            assertEquals(idx, sortedLinkedList.get(idx));
+        }
+        assertEquals(Representation.ARRAY, sortedLinkedList.representation());
+
+        //a single window of mixed reads and writes does not leave the array (hysteresis)
+        for (var idx = 0; idx < 50; idx++) {
+            if (idx % 5 == 0) {
+                sortedLinkedList.add(1000 + idx);
+            } else {
+                sortedLinkedList.contains(idx);
+            }
+        }
+        assertEquals(Representation.ARRAY, sortedLinkedList.representation());
+
+        //shrinking under the linked enter size returns to the linked representation
+        IntStream.range(0, 200).forEach(sortedLinkedList::remove);
+        for (var idx = 0; idx < 50; idx++) {
+            sortedLinkedList.contains(idx);
+        }
+        assertEquals(Representation.LINKED, sortedLinkedList.representation());
+        assertEquals(10, sortedLinkedList.size());
+        assertEquals(1000, sortedLinkedList.get(0));
+        assertTrue(sortedLinkedList.migrations() >= 2);
+    }
+
+    @Test
+    void iteration_survivesMigration() {
+        var sortedLinkedList = AdaptiveSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), POLICY);
+        IntStream.range(0, 200).forEach(sortedLinkedList::add);
+        var before = sortedLinkedList.representation();
+
+        //reads inside the loop trigger a migration while the iterator is in use
+        var visited = new ArrayList<Integer>();
+        for (var value : sortedLinkedList) {
+            assertTrue(sortedLinkedList.contains(value));
+            visited.add(value);
+        }
+
+        assertNotEquals(before, sortedLinkedList.representation());
+        assertEquals(IntStream.range(0, 200).boxed().toList(), visited);
+
+        //removing through an iterator taken before the migration affects the current representation
+        var iterator = sortedLinkedList.iterator();
+        iterator.next();
+        sortedLinkedList.migrate(Representation.LINKED);
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        assertFalse(sortedLinkedList.contains(0));
+        assertEquals(199, sortedLinkedList.size());
+    }
+
+    @Test
+    void iteratorRemove_inAllRepresentations() {
+        for (var representation : Representation.values()) {
+            var sortedLinkedList = AdaptiveSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC));
+            IntStream.range(0, 10).forEach(sortedLinkedList::add);
+            sortedLinkedList.add(4);
+            sortedLinkedList.migrate(representation);
+
+            var iterator = sortedLinkedList.iterator();
+            assertThrows(IllegalStateException.class, iterator::remove, representation.name());
+            var visited = new ArrayList<Integer>();
+            while (iterator.hasNext()) {
+                var value = iterator.next();
+                visited.add(value);
+                if (value % 2 == 0) {
+                    iterator.remove();
+                    assertThrows(IllegalStateException.class, iterator::remove, representation.name());
+                }
+            }
+
+            assertEquals(representation, sortedLinkedList.representation());
+            assertEquals(List.of(0, 1, 2, 3, 4, 4, 5, 6, 7, 8, 9), visited, representation.name());
+            assertEquals(List.of(1, 3, 5, 7, 9), sortedLinkedList.stream().toList(), representation.name());
+            assertEquals(5, sortedLinkedList.size(), representation.name());
+
+            assertTrue(sortedLinkedList.removeIf(value -> value > 4), representation.name());
+            assertEquals(List.of(1, 3), sortedLinkedList.stream().toList(), representation.name());
+        }
+    }
+
+    @Test
+    void iteratorRemove_countedAsWrite() {
+        var sortedLinkedList = AdaptiveSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), POLICY);
+        IntStream.range(0, 300).forEach(sortedLinkedList::add);
+        sortedLinkedList.migrate(Representation.ARRAY);
+
+        //deletes made through the iterator make the window write heavy and move the list out of the array
+        var iterator = sortedLinkedList.iterator();
+        for (var idx = 0; idx < 60; idx++) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        assertEquals(Representation.INDEXED, sortedLinkedList.representation());
+        assertEquals(240, sortedLinkedList.size());
+        assertEquals(IntStream.range(60, 300).boxed().toList(), sortedLinkedList.stream().toList());
+    }
+
+    @Test
+    void equality_sameInAllRepresentations() {
+        var sortedLinkedList = AdaptiveSortedLinkedList.createForStrings(String.CASE_INSENSITIVE_ORDER);
+        sortedLinkedList.add("aaa");
+        sortedLinkedList.add("AAA");
+        sortedLinkedList.add("bbb");
+
+        for (var representation : Representation.values()) {
+            sortedLinkedList.migrate(representation);
+            assertTrue(sortedLinkedList.contains("AAA"), representation.name());
+            assertFalse(sortedLinkedList.contains("BBB"), representation.name());
+            assertFalse(sortedLinkedList.remove("BBB"), representation.name());
+            assertFalse(sortedLinkedList.contains(1), representation.name());
+            assertEquals(3, sortedLinkedList.size());
+        }
+
+        sortedLinkedList.migrate(Representation.INDEXED);
+        assertTrue(sortedLinkedList.remove("AAA"));
+        assertTrue(sortedLinkedList.contains("aaa"));
+        assertFalse(sortedLinkedList.contains("AAA"));
+    }
+
+    @Test
+    void manualMigration() {
+        var sortedLinkedList = AdaptiveSortedLinkedList.createForStrings();
+        sortedLinkedList.add("BBB");
+        sortedLinkedList.add("AAA");
+
+        for (var representation : Representation.values()) {
+            sortedLinkedList.migrate(representation);
+            assertEquals(representation, sortedLinkedList.representation());
+            assertEquals("AAA", sortedLinkedList.get(0));
+            assertEquals("BBB", sortedLinkedList.get(1));
+            assertTrue(sortedLinkedList.estimateFootprint().total() > 0);
+        }
+    }
+
+}
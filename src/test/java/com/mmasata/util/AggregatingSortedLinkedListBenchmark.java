@@ -0,0 +1,125 @@
+package com.mmasata.util;
+
+import com.mmasata.util.aggregate.MonoidFactory;
+import com.mmasata.util.comparator.AscOrderIntegerComparator;
+import com.mmasata.util.workload.Operation;
+import com.mmasata.util.workload.ReplayReport;
+import com.mmasata.util.workload.TraceEntry;
+import com.mmasata.util.workload.WorkloadReplayer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the cost of maintaining the span aggregates of AggregatingSortedLinkedList.
+ * <p>
+ * The same insert/delete trace is replayed against the skip list maintaining only the count (the index itself)
+ * and maintaining count, sum, min and max, the difference is the upkeep of the aggregates.
+ * Range aggregation is compared with streaming the whole SortedArrayList.
+ * <p>
+ * The class is not picked up by the regular test run, start it by {@code mvn test -Dtest=AggregatingSortedLinkedListBenchmark}.
+ */
+class AggregatingSortedLinkedListBenchmark {
+
+    private static final int RECORDS = 50_000;
+
+    private static final int OPERATIONS = 200_000;
+
+    private static final int QUERIES = 2_000;
+
+    private static final int WARM_UP_ROUNDS = 3;
+
+    private final WorkloadReplayer replayer = new WorkloadReplayer();
+
+    @Test
+    void upkeep() {
+        var trace = trace(new Random(31));
+
+        var indexOnly = measure(trace, () -> AggregatingSortedLinkedList.create(new AscOrderIntegerComparator(), MonoidFactory.<Integer>count()));
+        var aggregated = measure(trace, AggregatingSortedLinkedList::createForInts);
+        var array = measure(trace, SortedArrayList::createForInts);
+
+        print("skip list, count only", indexOnly);
+        print("skip list, count/sum/min/max", aggregated);
+        print("sorted array, no aggregates", array);
+        System.out.printf("aggregate upkeep: %+.1f %% time, %+.0f B allocated per operation%n",
+                100 * (aggregated.getElapsedNanos() / (double) indexOnly.getElapsedNanos() - 1),
+                aggregated.allocatedBytesPerOperation() - indexOnly.allocatedBytesPerOperation());
+    }
+
+    @Test
+    void rangeQuery() {
+        var random = new Random(37);
+        var aggregating = AggregatingSortedLinkedList.createForInts();
+        var array = SortedArrayList.createForInts();
+        for (var idx = 0; idx < RECORDS; idx++) {
+            var value = random.nextInt(RECORDS);
+            aggregating.add(value);
+            array.add(value);
+        }
+
+        long aggregatingNanos = 0;
+        long streamingNanos = 0;
+        for (var round = 0; round <= WARM_UP_ROUNDS; round++) {
+            aggregatingNanos = 0;
+            streamingNanos = 0;
+
+            for (var query = 0; query < QUERIES; query++) {
+                var from = random.nextInt(RECORDS);
+                var to = from + random.nextInt(RECORDS / 10);
+
+                var start = System.nanoTime();
+                var aggregate = aggregating.aggregate(from, to).getSum();
+                aggregatingNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                var streamed = array.stream().filter(value -> value >= from && value <= to).mapToLong(value -> value).sum();
+                streamingNanos += System.nanoTime() - start;
+
+                assertEquals(streamed, aggregate);
+            }
+        }
+
+        System.out.printf("range sum over %d records: aggregate %d ns, stream %d ns per query%n",
+                RECORDS, aggregatingNanos / QUERIES, streamingNanos / QUERIES);
+    }
+
+    /**
+     * @return Returns inserts of all records followed by a random mix of inserts and deletes
+     */
+    private List<TraceEntry<Integer>> trace(Random random) {
+        var entries = new ArrayList<TraceEntry<Integer>>(RECORDS + OPERATIONS);
+        for (var idx = 0; idx < RECORDS; idx++) {
+            entries.add(new TraceEntry<>(Operation.ADD, 0, 0, 0, random.nextInt(RECORDS)));
+        }
+        for (var idx = 0; idx < OPERATIONS; idx++) {
+            var operation = random.nextBoolean() ? Operation.ADD : Operation.REMOVE;
+            entries.add(new TraceEntry<>(operation, 0, 0, 0, random.nextInt(RECORDS)));
+        }
+        return entries;
+    }
+
+    /**
+     * Replays the trace on fresh lists, the last round is reported
+     */
+    private ReplayReport measure(List<TraceEntry<Integer>> trace,
+                                 Supplier<? extends SortedLinkedList<Integer>> factory) {
+        ReplayReport report = null;
+        for (var round = 0; round <= WARM_UP_ROUNDS; round++) {
+            report = replayer.replay(trace, factory.get());
+        }
+        return report;
+    }
+
+    private void print(String name,
+                       ReplayReport report) {
+        System.out.printf("%-30s %10.0f ops/s  p50 %6d ns  p99 %7d ns  %6.0f B/op%n",
+                name, report.throughput(), report.getP50Nanos(), report.getP99Nanos(), report.allocatedBytesPerOperation());
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.mmasata.util;
+
+import com.mmasata.util.aggregate.MonoidFactory;
+import com.mmasata.util.comparator.ComparatorFactory;
+import com.mmasata.util.comparator.enums.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregatingSortedLinkedListTest {
+
+    @Test
+    void aggregate_range() {
+        var sortedLinkedList = AggregatingSortedLinkedList.createForInts();
+        sortedLinkedList.addAll(List.of(5, 7, 1, 9, 2, 7));
+
+        var aggregate = sortedLinkedList.aggregate(2, 7);
+        assertEquals(4, aggregate.getCount());
+        assertEquals(21, aggregate.getSum());
+        assertEquals(2, aggregate.getMin());
+        assertEquals(7, aggregate.getMax());
+        assertEquals(5.25, aggregate.average());
+
+        assertEquals(31, sortedLinkedList.aggregate().getSum());
+        assertEquals(0, sortedLinkedList.aggregate(10, 20).getCount());
+        assertEquals(0, sortedLinkedList.aggregate(7, 2).getCount());
+    }
+
+    @Test
+    void aggregate_descOrderAndNulls() {
+        var sortedLinkedList = AggregatingSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.DESC));
+        sortedLinkedList.addAll(Arrays.asList(null, 2, null, 7, 5, 1));
+
+        assertEquals(Arrays.asList(7, 5, 2, 1, null, null), sortedLinkedList.stream().toList());
+        assertEquals(14, sortedLinkedList.aggregate(7, 2).getSum());
+        assertEquals(6, sortedLinkedList.aggregate().getCount());
+        assertEquals(1, sortedLinkedList.aggregate().getMin());
+    }
+
+    @Test
+    void customMonoid() {
+        var sortedLinkedList = AggregatingSortedLinkedList.createForStrings(MonoidFactory.max(ComparatorFactory.alphabeticalOrderStringComparator()));
+        sortedLinkedList.addAll(List.of("CCC", "AAA", "EEE", "BBB"));
+
+        assertEquals("CCC", sortedLinkedList.aggregate("AAA", "DDD"));
+        assertEquals("EEE", sortedLinkedList.aggregate());
+
+        sortedLinkedList.remove("EEE");
+        assertEquals("CCC", sortedLinkedList.aggregate());
+        assertNull(sortedLinkedList.aggregate("DDD", "ZZZ"));
+    }
+
+    @Test
+    void randomOperations_matchBruteForce() {
+        var random = new Random(11);
+        var sortedLinkedList = AggregatingSortedLinkedList.createForInts();
+        var expected = new ArrayList<Integer>();
+
+        for (var operation = 0; operation < 3_000; operation++) {
+            var value = random.nextInt(200);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(Integer.valueOf(value)), sortedLinkedList.remove(value));
+            } else {
+                expected.add(value);
+                sortedLinkedList.add(value);
+            }
+
+            if (operation % 100 == 0) {
+                sortedLinkedList.compact();
+            }
+
+            var from = random.nextInt(200);
+            var to = from + random.nextInt(50);
+            var expectedSum = expected.stream().filter(v -> v >= from && v <= to).mapToLong(v -> v).sum();
+            var expectedCount = expected.stream().filter(v -> v >= from && v <= to).count();
+            assertEquals(expectedSum, sortedLinkedList.aggregate(from, to).getSum());
+            assertEquals(expectedCount, sortedLinkedList.aggregate(from, to).getCount());
+        }
+
+        expected.sort(Integer::compareTo);
+        assertEquals(expected, sortedLinkedList.stream().toList());
+        assertEquals(expected.size(), sortedLinkedList.size());
+        for (var idx = 0; idx < expected.size(); idx += 7) {
+            assertEquals(expected.get(idx), sortedLinkedList.get(idx));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedLinkedList.get(expected.size()));
+    }
+
+    @Test
+    void sentinel_followsHighestNode() {
+        var sortedLinkedList = AggregatingSortedLinkedList.createForInts();
+        var emptyFootprint = sortedLinkedList.estimateFootprint();
+
+        sortedLinkedList.addAll(IntStream.range(0, 1_000).boxed().toList());
+        assertTrue(sortedLinkedList.estimateFootprint().getNodeBytes() > emptyFootprint.getNodeBytes());
+
+        //removing all records drops the levels of the sentinel again
+        IntStream.range(0, 1_000).forEach(sortedLinkedList::remove);
+        assertEquals(emptyFootprint, sortedLinkedList.estimateFootprint());
+        assertEquals(0, sortedLinkedList.aggregate().getCount());
+
+        sortedLinkedList.add(5);
+        assertEquals(5, sortedLinkedList.aggregate(0, 10).getSum());
+        assertEquals(5, sortedLinkedList.get(0));
+    }
+
+    @Test
+    void foreignType_notContained() {
+        var sortedLinkedList = AggregatingSortedLinkedList.createForInts();
+        sortedLinkedList.addAll(List.of(1, 2, 3));
+
+        assertFalse(sortedLinkedList.contains("AAA"));
+        assertFalse(sortedLinkedList.remove("AAA"));
+        assertEquals(3, sortedLinkedList.size());
+    }
+
+    @Test
+    void setAndClear() {
+        var sortedLinkedList = AggregatingSortedLinkedList.createForInts();
+        sortedLinkedList.addAll(List.of(2, 3, 4, 5));
+
+        sortedLinkedList.set(1, 1);
+        assertEquals(List.of(1, 2, 4, 5), sortedLinkedList.stream().toList());
+        assertEquals(12, sortedLinkedList.aggregate().getSum());
+        assertTrue(sortedLinkedList.contains(4));
+        assertFalse(sortedLinkedList.contains(3));
+        assertTrue(sortedLinkedList.estimateFootprint().getNodeBytes() > 0);
+
+        sortedLinkedList.clear();
+        assertTrue(sortedLinkedList.isEmpty());
+        assertEquals(0, sortedLinkedList.aggregate().getCount());
+    }
+
+    @Test
+    void iteratorRemove_keepsAggregates() {
+        var sortedLinkedList = AggregatingSortedLinkedList.createForInts();
+        sortedLinkedList.addAll(List.of(5, 7, 1, 9, 2, 7));
+
+        var iterator = sortedLinkedList.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        while (iterator.hasNext()) {
+            if (iterator.next() == 7) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(List.of(1, 2, 5, 9), sortedLinkedList.stream().toList());
+        assertEquals(17, sortedLinkedList.aggregate().getSum());
+        assertEquals(4, sortedLinkedList.aggregate().getCount());
+    }
+}
@@ -0,0 +1,135 @@
+package com.mmasata.util;
+
+import com.mmasata.util.comparator.ComparatorFactory;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStringSortedListTest {
+
+    @Test
+    void ordering_matchesAlphabeticalComparator() {
+        var random = new Random(11);
+        //ASCII, two and three byte characters, characters after surrogates and supplementary characters
+        var alphabet = "aZ09é€�😀𐀀";
+        var values = new ArrayList<String>();
+
+        for (var idx = 0; idx < 2_000; idx++) {
+            var builder = new StringBuilder();
+            var length = random.nextInt(12);
+            while (builder.length() < length) {
+                var position = random.nextInt(alphabet.length());
+                if (Character.isSurrogate(alphabet.charAt(position))) {
+                    position &= ~1;
+                    builder.append(alphabet, position, position + 2);
+                } else {
+                    builder.append(alphabet.charAt(position));
+                }
+            }
+            values.add(builder.toString());
+        }
+        values.add(null);
+
+        var sortedLinkedList = OffHeapStringSortedList.createForStrings(256);
+        values.forEach(sortedLinkedList::add);
+
+        var expected = new ArrayList<>(values);
+        expected.sort(ComparatorFactory.alphabeticalOrderStringComparator());
+        assertEquals(expected, sortedLinkedList.stream().toList());
+        assertEquals(expected.get(1000), sortedLinkedList.get(1000));
+
+        var bulk = OffHeapStringSortedList.createForStrings(256);
+        bulk.addAll(values.subList(0, 1000));
+        bulk.addAll(values.subList(1000, values.size()));
+        assertEquals(expected, bulk.stream().toList());
+    }
+
+    @Test
+    void containsAndRemove() {
+        var sortedLinkedList = OffHeapStringSortedList.createForStrings();
+        sortedLinkedList.addAll(Arrays.asList("BBB", null, "AAA", "BBB", "CCC"));
+
+        assertTrue(sortedLinkedList.contains("BBB"));
+        assertTrue(sortedLinkedList.contains(null));
+        assertFalse(sortedLinkedList.contains("BB"));
+        assertFalse(sortedLinkedList.contains(1));
+        assertFalse(sortedLinkedList.contains("\uD800"));
+
+        assertTrue(sortedLinkedList.remove("BBB"));
+        assertTrue(sortedLinkedList.remove(null));
+        assertFalse(sortedLinkedList.remove("DDD"));
+        assertEquals(List.of("AAA", "BBB", "CCC"), sortedLinkedList.stream().toList());
+        assertEquals(4, sortedLinkedList.garbageBytes());
+
+        sortedLinkedList.set(0, "ZZZ");
+        assertEquals(List.of("BBB", "CCC", "ZZZ"), sortedLinkedList.stream().toList());
+        assertThrows(IllegalArgumentException.class, () -> sortedLinkedList.add("\uDC00"));
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedLinkedList.get(3));
+    }
+
+    @Test
+    void compactAndClose() {
+        var sortedLinkedList = OffHeapStringSortedList.createForStrings(64);
+        for (var idx = 0; idx < 100; idx++) {
+            sortedLinkedList.add("value-" + idx);
+        }
+        for (var idx = 0; idx < 90; idx++) {
+            sortedLinkedList.remove("value-" + idx);
+        }
+
+        var before = sortedLinkedList.stream().toList();
+        var offHeapBefore = sortedLinkedList.offHeapBytes();
+        assertTrue(sortedLinkedList.garbageBytes() > 0);
+
+        sortedLinkedList.compact();
+        assertEquals(before, sortedLinkedList.stream().toList());
+        assertEquals(0, sortedLinkedList.garbageBytes());
+        assertTrue(sortedLinkedList.offHeapBytes() < offHeapBefore);
+
+        var footprint = sortedLinkedList.estimateFootprint();
+        assertEquals(0, footprint.getValueBytes());
+        assertEquals(16 + 16 * 8, footprint.getNodeBytes());
+
+        sortedLinkedList.close();
+        assertEquals(0, sortedLinkedList.offHeapBytes());
+        assertThrows(IllegalStateException.class, () -> sortedLinkedList.add("value"));
+        assertThrows(IllegalStateException.class, () -> sortedLinkedList.contains("value"));
+    }
+
+    @Test
+    void close_freesDirectMemory() {
+        var directPool = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .findFirst()
+                .orElseThrow();
+
+        var sortedLinkedList = OffHeapStringSortedList.createForStrings(4_096);
+        for (var idx = 0; idx < 20_000; idx++) {
+            sortedLinkedList.add("record-" + idx);
+        }
+        for (var idx = 0; idx < 20_000; idx += 2) {
+            sortedLinkedList.remove("record-" + idx);
+        }
+
+        //the chunks are freed right away, not when the garbage collector finds them
+        var allocated = sortedLinkedList.offHeapBytes();
+        var used = directPool.getMemoryUsed();
+        sortedLinkedList.compact();
+        assertTrue(directPool.getMemoryUsed() <= used - allocated + sortedLinkedList.offHeapBytes());
+        assertEquals(10_000, sortedLinkedList.size());
+        assertEquals("record-1", sortedLinkedList.get(0));
+
+        used = directPool.getMemoryUsed();
+        allocated = sortedLinkedList.offHeapBytes();
+        sortedLinkedList.close();
+        assertTrue(directPool.getMemoryUsed() <= used - allocated);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.mmasata.util;
+
+import com.mmasata.util.comparator.ComparatorFactory;
+import com.mmasata.util.comparator.enums.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunLengthSortedLinkedListTest {
+
+    @Test
+    void insertion_storesRuns() {
+        var sortedLinkedList = RunLengthSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.DESC));
+        sortedLinkedList.addAll(List.of(1, 7, 2, 1, 5, 2, 8, 2, 5, 7, 9));
+
+        assertEquals(11, sortedLinkedList.size());
+        assertEquals(6, sortedLinkedList.distinctSize());
+        assertEquals(3, sortedLinkedList.count(2));
+        assertEquals(0, sortedLinkedList.count(3));
+        assertEquals(List.of(9, 8, 7, 7, 5, 5, 2, 2, 2, 1, 1), sortedLinkedList.stream().toList());
+        assertArrayEquals(new Object[]{9, 8, 7, 7, 5, 5, 2, 2, 2, 1, 1}, sortedLinkedList.toArray());
+    }
+
+    @Test
+    void get_expandsRuns() {
+        var sortedLinkedList = RunLengthSortedLinkedList.createForStrings();
+        sortedLinkedList.addAll(Arrays.asList("BBB", null, "AAA", "BBB", null));
+
+        assertNull(sortedLinkedList.get(0));
+        assertNull(sortedLinkedList.get(1));
+        assertEquals("AAA", sortedLinkedList.get(2));
+        assertEquals("BBB", sortedLinkedList.get(3));
+        assertEquals("BBB", sortedLinkedList.get(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedLinkedList.get(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedLinkedList.get(-1));
+    }
+
+    @Test
+    void removeAndSet() {
+        var sortedLinkedList = RunLengthSortedLinkedList.createForInts();
+        sortedLinkedList.addAll(List.of(1, 1, 2, 3, 3, 3));
+
+        assertTrue(sortedLinkedList.remove(1));
+        assertTrue(sortedLinkedList.remove(1));
+        assertFalse(sortedLinkedList.remove(1));
+        assertFalse(sortedLinkedList.contains(1));
+        assertEquals(2, sortedLinkedList.distinctSize());
+
+        //change one occurrence of 3 to 0
+        sortedLinkedList.set(2, 0);
+        assertEquals(List.of(0, 2, 3, 3), sortedLinkedList.stream().toList());
+        assertEquals(3, sortedLinkedList.distinctSize());
+
+        sortedLinkedList.clear();
+        assertTrue(sortedLinkedList.isEmpty());
+        assertEquals(0, sortedLinkedList.distinctSize());
+    }
+
+    @Test
+    void heavyDuplicates_sameContentAsSortedLinkedListImpl() {
+        var values = new Random(3).ints(5_000, 0, 20).boxed().toList();
+        var runLength = RunLengthSortedLinkedList.createForInts();
+        runLength.addAll(values);
+
+        assertEquals(20, runLength.distinctSize());
+        assertEquals(SortedLinkedListImpl.fromInts(values).stream().toList(), runLength.stream().toList());
+    }
+
+    @Test
+    void footprintAndCompact() {
+        var runLength = RunLengthSortedLinkedList.createForInts();
+        var plain = SortedLinkedListImpl.createForInts();
+        var values = new Random(5).ints(1_000, 0, 10).boxed().toList();
+        runLength.addAll(values);
+        plain.addAll(values);
+
+        assertTrue(runLength.estimateFootprint().total() < plain.estimateFootprint().total() / 10);
+
+        runLength.compact();
+        assertEquals(plain.stream().toList(), runLength.stream().toList());
+        assertEquals(10, runLength.distinctSize());
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.mmasata.util;
+
+import com.mmasata.util.comparator.ComparatorFactory;
+import com.mmasata.util.comparator.enums.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedSortedLinkedListTest {
+
+    @Test
+    void insertion_splitsShards() {
+        var sortedLinkedList = ShardedSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), 4);
+        var values = new Random(7).ints(100, 0, 50).boxed().toList();
+
+        sortedLinkedList.addAll(values);
+
+        assertTrue(sortedLinkedList.shardCount() > 1);
+        assertEquals(values.stream().sorted().toList(), sortedLinkedList.stream().toList());
+        assertEquals(100, sortedLinkedList.size());
+
+        var expected = values.stream().sorted().toList();
+        for (var idx = 0; idx < expected.size(); idx++) {
+            assertEquals(expected.get(idx), sortedLinkedList.get(idx));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedLinkedList.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedLinkedList.get(-1));
+    }
+
+    @Test
+    void remove_mergesShards() {
+        var sortedLinkedList = ShardedSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.DESC), 8);
+        sortedLinkedList.addAll(IntStream.range(0, 64).boxed().toList());
+        var shardsBefore = sortedLinkedList.shardCount();
+
+        for (var value = 0; value < 60; value++) {
+            assertTrue(sortedLinkedList.remove(value));
+        }
+
+        assertFalse(sortedLinkedList.remove(0));
+        assertTrue(sortedLinkedList.shardCount() < shardsBefore);
+        assertEquals(List.of(63, 62, 61, 60), sortedLinkedList.stream().toList());
+        assertTrue(sortedLinkedList.contains(61));
+        assertFalse(sortedLinkedList.contains(1));
+    }
+
+    @Test
+    void duplicatesAndNulls() {
+        var sortedLinkedList = ShardedSortedLinkedList.createForStrings(ComparatorFactory.alphabeticalOrderStringComparator(), 2);
+        sortedLinkedList.addAll(Arrays.asList("BBB", null, "AAA", "BBB", "BBB", null, "CCC"));
+
+        assertEquals(Arrays.asList(null, null, "AAA", "BBB", "BBB", "BBB", "CCC"), sortedLinkedList.stream().toList());
+        assertTrue(sortedLinkedList.contains(null));
+
+        sortedLinkedList.set(0, "DDD");
+        assertEquals(Arrays.asList(null, "AAA", "BBB", "BBB", "BBB", "CCC", "DDD"), sortedLinkedList.stream().toList());
+
+        sortedLinkedList.clear();
+        assertTrue(sortedLinkedList.isEmpty());
+        assertEquals(1, sortedLinkedList.shardCount());
+    }
+
+    @Test
+    void concurrentWrites() throws InterruptedException {
+        var sortedLinkedList = ShardedSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), 16);
+        var threads = 4;
+        var perThread = 500;
+        var executor = Executors.newFixedThreadPool(threads);
+        var expected = new ArrayList<Integer>();
+
+        for (var thread = 0; thread < threads; thread++) {
+            var values = new Random(thread).ints(perThread, 0, 10_000).boxed().toList();
+            expected.addAll(values);
+            executor.submit(() -> values.forEach(sortedLinkedList::add));
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, sortedLinkedList.size());
+        assertEquals(expected.stream().sorted().toList(), sortedLinkedList.stream().toList());
+    }
+
+    @Test
+    void duplicates_notRebalancedAgain() {
+        var sortedLinkedList = ShardedSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), 4);
+        for (var idx = 0; idx < 100; idx++) {
+            sortedLinkedList.add(7);
+        }
+
+        //the first overflow finds no bound to split by, further equal records must not rebalance again
+        assertEquals(1, sortedLinkedList.rebalances());
+        assertEquals(1, sortedLinkedList.shardCount());
+
+        //a different value behind the run makes the split possible again
+        sortedLinkedList.add(8);
+        assertEquals(2, sortedLinkedList.rebalances());
+        assertEquals(2, sortedLinkedList.shardCount());
+        assertEquals(101, sortedLinkedList.size());
+        assertEquals(8, sortedLinkedList.get(100));
+    }
+
+    @Test
+    void trailingRun_splitInFrontOfRun() {
+        var sortedLinkedList = ShardedSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), 8);
+        sortedLinkedList.addAll(List.of(1, 2, 3, 5, 5, 5, 5, 5, 5));
+
+        //the median is inside the run of 5, the shard is split in front of it
+        assertEquals(2, sortedLinkedList.shardCount());
+        assertEquals(List.of(1, 2, 3, 5, 5, 5, 5, 5, 5), sortedLinkedList.stream().toList());
+
+        //the shard of the run holds a single value, further equal records do not rebalance again
+        var rebalances = sortedLinkedList.rebalances();
+        sortedLinkedList.addAll(List.of(5, 5, 5, 5));
+        assertEquals(rebalances + 1, sortedLinkedList.rebalances());
+        assertEquals(2, sortedLinkedList.shardCount());
+        assertEquals(13, sortedLinkedList.size());
+    }
+
+    @Test
+    void foreignType_notContained() {
+        var sortedLinkedList = ShardedSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), 4);
+        sortedLinkedList.addAll(IntStream.range(0, 100).boxed().toList());
+        assertTrue(sortedLinkedList.shardCount() > 1);
+
+        Collection<?> collection = sortedLinkedList;
+        assertFalse(collection.contains("x"));
+        assertFalse(collection.remove("x"));
+        assertEquals(100, sortedLinkedList.size());
+    }
+
+    @Test
+    void removeIf_perShard() {
+        var sortedLinkedList = ShardedSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), 8);
+        sortedLinkedList.addAll(IntStream.range(0, 100).boxed().toList());
+        var shardsBefore = sortedLinkedList.shardCount();
+
+        assertTrue(sortedLinkedList.removeIf(value -> value >= 10));
+        assertFalse(sortedLinkedList.removeIf(value -> value >= 10));
+
+        assertEquals(IntStream.range(0, 10).boxed().toList(), sortedLinkedList.stream().toList());
+        assertEquals(10, sortedLinkedList.size());
+        assertTrue(sortedLinkedList.shardCount() < shardsBefore);
+        assertEquals(9, sortedLinkedList.get(9));
+    }
+
+    @Test
+    void concurrentSets() throws InterruptedException {
+        var sortedLinkedList = ShardedSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), 8);
+        sortedLinkedList.addAll(IntStream.range(0, 200).boxed().toList());
+        var threads = 4;
+        var perThread = 500;
+        var executor = Executors.newFixedThreadPool(threads);
+
+        for (var thread = 0; thread < threads; thread++) {
+            var offset = thread;
+            executor.submit(() -> {
+                for (var idx = 0; idx < perThread; idx++) {
+                    //every set replaces the current minimum by a new distinct maximum
+                    sortedLinkedList.set(0, 1_000 + idx * threads + offset);
+                }
+            });
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        var values = sortedLinkedList.stream().toList();
+        assertEquals(200, sortedLinkedList.size());
+        assertEquals(200, values.size());
+        assertEquals(values.stream().sorted().toList(), values);
+        assertEquals(200, values.stream().distinct().count());
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedLinkedList.set(200, 1));
+    }
+
+    @Test
+    void footprintAndCompact() {
+        var sortedLinkedList = ShardedSortedLinkedList.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC), 4);
+        sortedLinkedList.addAll(IntStream.range(0, 20).boxed().toList());
+
+        var footprint = sortedLinkedList.estimateFootprint();
+        assertEquals(20 * 32, footprint.getNodeBytes());
+        assertEquals(20 * 16, footprint.getValueBytes());
+
+        sortedLinkedList.compact();
+        assertEquals(IntStream.range(0, 20).boxed().toList(), sortedLinkedList.stream().toList());
+        assertEquals(footprint, sortedLinkedList.estimateFootprint());
+    }
+
+}
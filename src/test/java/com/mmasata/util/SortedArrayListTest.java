@@ -0,0 +1,66 @@
+package com.mmasata.util;
+
+import com.mmasata.util.comparator.ComparatorFactory;
+import com.mmasata.util.comparator.enums.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedArrayListTest {
+
+    @Test
+    void insertionAndGet() {
+        var sortedArrayList = SortedArrayList.createForInts(ComparatorFactory.integerComparatorComparator(Order.DESC));
+        var values = new Random(1).ints(100, 0, 30).boxed().toList();
+        sortedArrayList.addAll(values);
+
+        assertEquals(SortedLinkedListImpl.fromInts(values, ComparatorFactory.integerComparatorComparator(Order.DESC)).stream().toList(),
+                sortedArrayList.stream().toList());
+        assertEquals(100, sortedArrayList.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedArrayList.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedArrayList.get(-1));
+    }
+
+    @Test
+    void removeContainsAndSet() {
+        var sortedArrayList = SortedArrayList.createForStrings();
+        sortedArrayList.addAll(Arrays.asList("CCC", null, "AAA", "BBB", "AAA"));
+
+        assertTrue(sortedArrayList.contains(null));
+        assertTrue(sortedArrayList.remove("AAA"));
+        assertTrue(sortedArrayList.remove(null));
+        assertFalse(sortedArrayList.remove(null));
+        assertFalse(sortedArrayList.contains("DDD"));
+        assertEquals(List.of("AAA", "BBB", "CCC"), sortedArrayList.stream().toList());
+
+        sortedArrayList.set(0, "ZZZ");
+        assertArrayEquals(new Object[]{"BBB", "CCC", "ZZZ"}, sortedArrayList.toArray());
+
+        sortedArrayList.compact();
+        sortedArrayList.clear();
+        assertTrue(sortedArrayList.isEmpty());
+    }
+
+    @Test
+    void iteratorRemove() {
+        var sortedArrayList = SortedArrayList.createForInts();
+        sortedArrayList.addAll(List.of(4, 1, 3, 2, 2));
+
+        var iterator = sortedArrayList.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        while (iterator.hasNext()) {
+            if (iterator.next() == 2) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(List.of(1, 3, 4), sortedArrayList.stream().toList());
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        assertEquals(List.of(1, 3), sortedArrayList.stream().toList());
+    }
+}
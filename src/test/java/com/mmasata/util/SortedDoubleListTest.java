@@ -0,0 +1,116 @@
+package com.mmasata.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedDoubleListTest {
+
+    @Test
+    void ordering_matchesDoubleCompare() {
+        var sortedDoubleList = SortedDoubleList.createForDoubles(8);
+        var random = new Random(23);
+        var expected = new ArrayList<Double>(List.of(Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, -0.0, 0.0,
+                Double.MIN_VALUE, -Double.MAX_VALUE));
+
+        for (var idx = 0; idx < 500; idx++) {
+            expected.add(random.nextGaussian() * 1_000);
+        }
+        expected.forEach(sortedDoubleList::add);
+        expected.sort(Double::compare);
+
+        assertEquals(expected, sortedDoubleList.stream().boxed().toList());
+        assertEquals(Double.NEGATIVE_INFINITY, sortedDoubleList.get(0));
+        assertTrue(Double.isNaN(sortedDoubleList.get(sortedDoubleList.size() - 1)));
+        assertTrue(sortedDoubleList.contains(-0.0));
+        assertTrue(sortedDoubleList.contains(Double.NaN));
+
+        var inRange = expected.stream().filter(value -> value >= -1.5 && value <= 250.25).toList();
+        assertEquals(inRange, sortedDoubleList.range(-1.5, 250.25).boxed().toList());
+        assertEquals(inRange.size(), sortedDoubleList.count(-1.5, 250.25));
+
+        sortedDoubleList.close();
+        assertThrows(IllegalStateException.class, () -> sortedDoubleList.add(1.0));
+    }
+
+    @Test
+    void signedZeros_distinct() {
+        var sortedDoubleList = SortedDoubleList.createForDoubles(4);
+        sortedDoubleList.add(0.0);
+        sortedDoubleList.add(-0.0);
+        sortedDoubleList.add(0.0);
+
+        assertEquals(List.of(-0.0, 0.0, 0.0), sortedDoubleList.stream().boxed().toList());
+        assertEquals(1, sortedDoubleList.count(-0.0, -0.0));
+        assertEquals(3, sortedDoubleList.count(-0.0, 0.0));
+
+        assertTrue(sortedDoubleList.remove(-0.0));
+        assertFalse(sortedDoubleList.contains(-0.0));
+        assertFalse(sortedDoubleList.remove(-0.0));
+        assertTrue(sortedDoubleList.contains(0.0));
+
+        assertTrue(sortedDoubleList.remove(0.0));
+        assertTrue(sortedDoubleList.remove(0.0));
+        assertFalse(sortedDoubleList.contains(0.0));
+        assertTrue(sortedDoubleList.isEmpty());
+    }
+
+    @Test
+    void nan_sortedLast() {
+        var sortedDoubleList = SortedDoubleList.createForDoubles(4);
+        assertFalse(sortedDoubleList.contains(Double.NaN));
+
+        sortedDoubleList.add(Double.NaN);
+        sortedDoubleList.add(Double.POSITIVE_INFINITY);
+        sortedDoubleList.add(Double.NaN);
+        sortedDoubleList.add(1.0);
+
+        assertTrue(sortedDoubleList.contains(Double.NaN));
+        assertTrue(Double.isNaN(sortedDoubleList.get(3)));
+        assertEquals(Double.POSITIVE_INFINITY, sortedDoubleList.get(1));
+        assertEquals(2, sortedDoubleList.count(Double.NaN, Double.NaN));
+        assertEquals(List.of(1.0, Double.POSITIVE_INFINITY), sortedDoubleList.range(0.0, Double.POSITIVE_INFINITY).boxed().toList());
+
+        //every NaN bit pattern is the canonical NaN, Double.compare treats them as equal
+        assertTrue(sortedDoubleList.remove(Double.longBitsToDouble(0x7ff8000000000001L)));
+        assertTrue(sortedDoubleList.remove(Double.NaN));
+        assertFalse(sortedDoubleList.remove(Double.NaN));
+        assertFalse(sortedDoubleList.contains(Double.NaN));
+        assertEquals(List.of(1.0, Double.POSITIVE_INFINITY), sortedDoubleList.stream().boxed().toList());
+    }
+
+    @Test
+    void compact_keepsOrder() {
+        var sortedDoubleList = SortedDoubleList.createForDoubles(8);
+        var random = new Random(41);
+        var expected = new ArrayList<Double>();
+
+        for (var idx = 0; idx < 400; idx++) {
+            var value = random.nextInt(100) / 4.0 - 10;
+            sortedDoubleList.add(value);
+            expected.add(value);
+        }
+        for (var idx = 0; idx < 300; idx++) {
+            assertTrue(sortedDoubleList.remove(expected.remove(expected.size() - 1)));
+        }
+        expected.sort(Double::compare);
+        var sparseBytes = sortedDoubleList.offHeapBytes();
+
+        sortedDoubleList.compact();
+        assertEquals(expected, sortedDoubleList.stream().boxed().toList());
+        assertEquals(13 * 8 * Double.BYTES, sortedDoubleList.offHeapBytes());
+        assertTrue(sortedDoubleList.offHeapBytes() < sparseBytes);
+        assertEquals(expected.get(50), sortedDoubleList.get(50));
+
+        sortedDoubleList.clear();
+        assertTrue(sortedDoubleList.isEmpty());
+        assertEquals(0, sortedDoubleList.offHeapBytes());
+        sortedDoubleList.add(-0.0);
+        assertEquals(-0.0, sortedDoubleList.get(0));
+    }
+
+}
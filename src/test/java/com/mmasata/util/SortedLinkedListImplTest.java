@@ -2,13 +2,21 @@ package com.mmasata.util;
 
 import com.mmasata.util.comparator.ComparatorFactory;
 import com.mmasata.util.comparator.enums.Order;
+import com.mmasata.util.exception.ChangeFeedOverflowException;
+import com.mmasata.util.feed.ChangeEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.Flow;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -155,6 +163,650 @@ class SortedLinkedListImplTest {
         assertFalse(sortedLinkedList.containsAll(Arrays.asList(4, 1, 2)));
     }
 
+    @Test
+    void merge_lazyStream() {
+        var first = SortedLinkedListImpl.createForInts();
+        first.addAll(List.of(1, 4, 7));
+        var second = SortedLinkedListImpl.createForInts();
+        second.addAll(List.of(2, 4, 8, 9));
+        var third = SortedLinkedListImpl.createForInts();
+
+        var spliterator = SortedLinkedListImpl.merge(first, second, third).spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SORTED));
+        assertSame(first.comparator(), spliterator.getComparator());
+        assertEquals(7, spliterator.getExactSizeIfKnown());
+
+        assertEquals(List.of(1, 2, 4, 4, 7, 8, 9), SortedLinkedListImpl.merge(first, second, third).toList());
+        assertThrows(IllegalArgumentException.class, SortedLinkedListImpl::merge);
+    }
+
+    @Test
+    void mergeToList() {
+        var first = SortedLinkedListImpl.createForInts(ComparatorFactory.integerComparatorComparator(Order.DESC));
+        first.addAll(List.of(1, 4, 7));
+        var second = SortedLinkedListImpl.createForInts(ComparatorFactory.integerComparatorComparator(Order.DESC));
+        second.addAll(List.of(2, 4, 8, 9));
+
+        var merged = SortedLinkedListImpl.mergeToList(first, second);
+        commonValuesAssertions(List.of(9, 8, 7, 4, 4, 2, 1), merged);
+
+        //merged list must stay fully functional
+        merged.add(5);
+        assertEquals(5, merged.get(3));
+        assertEquals(List.of(7, 4, 1), first.stream().toList());
+    }
+
+    @Test
+    void merge_rejectsDifferentComparators() {
+        var ascending = SortedLinkedListImpl.createForInts();
+        ascending.addAll(List.of(1, 4, 7));
+        var descending = SortedLinkedListImpl.createForInts(ComparatorFactory.integerComparatorComparator(Order.DESC));
+        descending.addAll(List.of(9, 8, 2));
+
+        assertThrows(IllegalArgumentException.class, () -> SortedLinkedListImpl.merge(ascending, descending));
+        assertThrows(IllegalArgumentException.class, () -> SortedLinkedListImpl.mergeToList(ascending, descending));
+        assertThrows(IllegalArgumentException.class, () -> SortedLinkedListImpl.parallelMergeToList(ascending, descending));
+
+        //equal Comparators of different instances are accepted
+        var other = SortedLinkedListImpl.createForInts();
+        other.add(5);
+        assertEquals(List.of(1, 4, 5, 7), SortedLinkedListImpl.mergeToList(ascending, other).stream().toList());
+    }
+
+    @Test
+    void parallelMergeToList() {
+        var first = SortedLinkedListImpl.createForStrings();
+        first.addAll(List.of("AAA", "CCC"));
+        var second = SortedLinkedListImpl.createForStrings();
+        second.addAll(List.of("BBB", "DDD"));
+        var third = SortedLinkedListImpl.createForStrings();
+        third.add("AAB");
+
+        var merged = SortedLinkedListImpl.parallelMergeToList(first, second, third);
+        commonValuesAssertions(List.of("AAA", "AAB", "BBB", "CCC", "DDD"), merged);
+    }
+
+    @MethodSource(value = "integerListInsertionDataProvider")
+    @ParameterizedTest
+    void fromInts_bulkConstruction(List<Integer> expectedOrder, Order order, List<Integer> valuesToAdd) {
+        var comparator = ComparatorFactory.integerComparatorComparator(order);
+        SortedLinkedList<Integer> sortedLinkedList = SortedLinkedListImpl.fromInts(valuesToAdd, comparator);
+
+        commonValuesAssertions(expectedOrder, sortedLinkedList);
+    }
+
+    @Test
+    void fromInts_parallelPrimitiveConstruction() {
+        var values = new Random(42).ints(50_000, -1000, 1000).toArray();
+        var sortedLinkedList = SortedLinkedListImpl.fromInts(values);
+
+        var expected = Arrays.stream(values).sorted().boxed().toList();
+        commonValuesAssertions(expected, sortedLinkedList);
+
+        sortedLinkedList.add(-5000);
+        assertEquals(-5000, sortedLinkedList.get(0));
+        assertEquals(50_001, sortedLinkedList.size());
+    }
+
+    @Test
+    void fromInts_extremeValues() {
+        var values = new int[]{Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1, 1};
+        var sortedLinkedList = SortedLinkedListImpl.fromInts(values);
+        commonValuesAssertions(List.of(Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE), sortedLinkedList);
+
+        //the chain order must agree with the comparator used by later operations
+        sortedLinkedList.add(Integer.MIN_VALUE + 1);
+        sortedLinkedList.add(Integer.MAX_VALUE - 1);
+        assertEquals(List.of(Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE),
+                sortedLinkedList.stream().toList());
+        assertTrue(sortedLinkedList.contains(Integer.MAX_VALUE));
+        assertTrue(sortedLinkedList.remove(Integer.MIN_VALUE));
+
+        var descending = SortedLinkedListImpl.fromInts(List.of(Integer.MIN_VALUE, Integer.MAX_VALUE, 0),
+                ComparatorFactory.integerComparatorComparator(Order.DESC));
+        commonValuesAssertions(List.of(Integer.MAX_VALUE, 0, Integer.MIN_VALUE), descending);
+    }
+
+    @Test
+    void fromStrings_bulkConstruction() {
+        SortedLinkedList<String> sortedLinkedList = SortedLinkedListImpl.fromStrings(Arrays.asList("CCB", null, "AAA", "EEE"));
+        commonValuesAssertions(Arrays.asList(null, "AAA", "CCB", "EEE"), sortedLinkedList);
+        assertTrue(SortedLinkedListImpl.fromStrings(List.of()).isEmpty());
+    }
+
+    @Test
+    void estimateFootprint() {
+        var sortedLinkedList = SortedLinkedListImpl.createForInts();
+        var empty = sortedLinkedList.estimateFootprint();
+        assertEquals(0, empty.getNodeBytes());
+        assertTrue(empty.getStructureBytes() > 0);
+
+        sortedLinkedList.addAll(List.of(1, 2, 3));
+        var footprint = sortedLinkedList.estimateFootprint();
+
+        //3 Nodes (header + 3 references + tombstone flag) and 3 Integers (header + int)
+        assertEquals(3 * 32, footprint.getNodeBytes());
+        assertEquals(3 * 16, footprint.getValueBytes());
+        assertEquals(empty.getStructureBytes() + 3 * 32 + 3 * 16, footprint.total());
+    }
+
+    @Test
+    void compact() {
+        var sortedLinkedList = SortedLinkedListImpl.createForStrings();
+        sortedLinkedList.addAll(List.of("CCC", "AAA", "BBB", "DDD"));
+        sortedLinkedList.remove("BBB");
+
+        sortedLinkedList.compact();
+
+        commonValuesAssertions(List.of("AAA", "CCC", "DDD"), sortedLinkedList);
+        sortedLinkedList.add("BBB");
+        commonValuesAssertions(List.of("AAA", "BBB", "CCC", "DDD"), sortedLinkedList);
+    }
+
+    @Test
+    void lazyDelete_tombstonesSkipped() {
+        var sortedLinkedList = SortedLinkedListImpl.createForInts();
+        sortedLinkedList.addAll(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        sortedLinkedList.enableLazyDelete(0.5);
+
+        assertTrue(sortedLinkedList.remove(1));
+        assertTrue(sortedLinkedList.remove(5));
+        assertFalse(sortedLinkedList.remove(5));
+        assertEquals(2, sortedLinkedList.tombstones());
+
+        commonValuesAssertions(List.of(2, 3, 4, 6, 7, 8, 9, 10), sortedLinkedList);
+        assertArrayEquals(new Object[]{2, 3, 4, 6, 7, 8, 9, 10}, sortedLinkedList.toArray());
+        assertEquals(2, sortedLinkedList.get(0));
+        assertEquals(6, sortedLinkedList.get(3));
+        assertFalse(sortedLinkedList.contains(5));
+
+        //inserted values must ignore tombstones when searching for their position
+        sortedLinkedList.add(5);
+        sortedLinkedList.add(0);
+        commonValuesAssertions(List.of(0, 2, 3, 4, 5, 6, 7, 8, 9, 10), sortedLinkedList);
+
+        sortedLinkedList.disableLazyDelete();
+        assertEquals(0, sortedLinkedList.tombstones());
+        commonValuesAssertions(List.of(0, 2, 3, 4, 5, 6, 7, 8, 9, 10), sortedLinkedList);
+    }
+
+    @Test
+    void lazyDelete_purgeOnRatio() {
+        var sortedLinkedList = SortedLinkedListImpl.createForInts();
+        sortedLinkedList.addAll(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        sortedLinkedList.enableLazyDelete(0.3);
+
+        sortedLinkedList.removeAll(List.of(1, 2, 3));
+        assertEquals(3, sortedLinkedList.tombstones());
+
+        //fourth tombstone exceeds 30 % of all Nodes -> bulk purge
+        sortedLinkedList.remove(10);
+        assertEquals(0, sortedLinkedList.tombstones());
+        commonValuesAssertions(List.of(4, 5, 6, 7, 8, 9), sortedLinkedList);
+
+        sortedLinkedList.removeAll(List.of(4, 5, 6, 7, 8, 9));
+        assertTrue(sortedLinkedList.isEmpty());
+        sortedLinkedList.add(1);
+        commonValuesAssertions(List.of(1), sortedLinkedList);
+    }
+
+    @Test
+    void membershipFilter() {
+        var sortedLinkedList = SortedLinkedListImpl.createForStrings();
+        sortedLinkedList.addAll(Arrays.asList("CCC", null, "AAA"));
+        sortedLinkedList.enableMembershipFilter(2, 0.01);
+
+        //filter grows over its capacity without losing records
+        for (var idx = 0; idx < 100; idx++) {
+            sortedLinkedList.add("KEY" + idx);
+        }
+
+        assertTrue(sortedLinkedList.contains(null));
+        assertTrue(sortedLinkedList.containsAll(List.of("AAA", "CCC", "KEY0", "KEY99")));
+        for (var idx = 100; idx < 1100; idx++) {
+            assertFalse(sortedLinkedList.contains("KEY" + idx));
+        }
+
+        var stats = sortedLinkedList.membershipFilterStats();
+        assertEquals(1005, stats.getLookups());
+        assertTrue(stats.getDefinitelyAbsent() > 950);
+        assertEquals(1000 - stats.getDefinitelyAbsent(), stats.getFalsePositives());
+
+        assertTrue(sortedLinkedList.remove("AAA"));
+        assertFalse(sortedLinkedList.remove("AAA"));
+        assertFalse(sortedLinkedList.contains("AAA"));
+
+        sortedLinkedList.set(0, "AAA");
+        assertTrue(sortedLinkedList.contains("AAA"));
+        assertFalse(sortedLinkedList.contains(null));
+
+        sortedLinkedList.clear();
+        assertFalse(sortedLinkedList.contains("CCC"));
+        sortedLinkedList.disableMembershipFilter();
+        assertNull(sortedLinkedList.membershipFilterStats());
+    }
+
+    @Test
+    void addAll_presortedRuns() {
+        var random = new Random(13);
+        var values = new ArrayList<Integer>();
+        for (var idx = 0; idx < 5_000; idx++) {
+            //mostly ascending with occasional local disorder
+            values.add(random.nextInt(10) == 0 ? idx - random.nextInt(50) : idx);
+        }
+
+        var sortedLinkedList = SortedLinkedListImpl.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC));
+        sortedLinkedList.enableMembershipFilter(16, 0.01);
+        sortedLinkedList.addAll(values.subList(0, 2_500));
+        sortedLinkedList.add(1_000);
+        sortedLinkedList.addAll(values.subList(2_500, 5_000));
+
+        var expected = new ArrayList<>(values);
+        expected.add(1_000);
+        expected.sort(Integer::compare);
+        assertEquals(expected, sortedLinkedList.stream().toList());
+        assertEquals(5_001, sortedLinkedList.size());
+        assertTrue(sortedLinkedList.containsAll(values));
+
+        //the remembered insertion point must not survive removal of its Node
+        sortedLinkedList.remove(4_999);
+        sortedLinkedList.addAll(List.of(5_000, 4_998, -100));
+        expected.remove(Integer.valueOf(4_999));
+        expected.addAll(List.of(5_000, 4_998, -100));
+        expected.sort(Integer::compare);
+        assertEquals(-100, sortedLinkedList.get(0));
+        assertEquals(expected, sortedLinkedList.stream().toList());
+    }
+
+    @Test
+    void tail_followsChanges() {
+        var sortedLinkedList = SortedLinkedListImpl.createForInts();
+        var random = new Random(13);
+        sortedLinkedList.enableLazyDelete(0.3);
+
+        for (var idx = 0; idx < 400; idx++) {
+            switch (random.nextInt(7)) {
+                case 0 -> sortedLinkedList.add(random.nextInt(100));
+                case 1 -> sortedLinkedList.addAll(List.of(90 + random.nextInt(10), 100 + random.nextInt(10), 5));
+                case 2 -> sortedLinkedList.remove(random.nextInt(110));
+                case 3 -> sortedLinkedList.removeIf(value -> value % 11 == 0);
+                case 4 -> sortedLinkedList.compact();
+                case 5 -> {
+                    if (!sortedLinkedList.isEmpty()) {
+                        sortedLinkedList.set(sortedLinkedList.size() - 1, random.nextInt(100));
+                    }
+                }
+                default -> {
+                    //detached records are attached again behind the kept ones
+                    if (sortedLinkedList.size() > 1) {
+                        var detached = sortedLinkedList.splitAfter(random.nextInt(sortedLinkedList.size() - 1));
+                        if (detached != null) {
+                            assertEquals(reversed(detached.stream().toList()), backward(detached));
+                            sortedLinkedList.concat(detached);
+                        }
+                    }
+                }
+            }
+            assertEquals(reversed(sortedLinkedList.stream().toList()), backward(sortedLinkedList));
+        }
+
+        sortedLinkedList.clear();
+        assertEquals(List.of(), backward(sortedLinkedList));
+        sortedLinkedList.add(1);
+        assertEquals(List.of(1), backward(sortedLinkedList));
+    }
+
+    @Test
+    void listIterator_removeAndSet() {
+        var sortedLinkedList = SortedLinkedListImpl.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC));
+        sortedLinkedList.addAll(List.of(1, 2, 3, 4, 5, 6));
+        sortedLinkedList.enableLazyDelete(1);
+        sortedLinkedList.remove(4);
+
+        var cursor = sortedLinkedList.listIterator(2);
+        assertEquals(2, cursor.nextIndex());
+        assertEquals(3, cursor.next());
+        assertEquals(5, cursor.next());
+        assertEquals(5, cursor.previous());
+
+        //replaced in place, the order is kept
+        cursor.set(4);
+        assertThrows(IllegalArgumentException.class, () -> cursor.set(7));
+        assertThrows(UnsupportedOperationException.class, () -> cursor.add(7));
+
+        assertEquals(3, cursor.previous());
+        cursor.remove();
+        assertThrows(IllegalStateException.class, cursor::remove);
+        assertEquals(2, cursor.nextIndex());
+        assertEquals(4, cursor.next());
+
+        assertEquals(List.of(1, 2, 4, 6), sortedLinkedList.stream().toList());
+        assertEquals(4, sortedLinkedList.size());
+
+        var backward = sortedLinkedList.listIterator(sortedLinkedList.size());
+        var reversed = new ArrayList<Integer>();
+        while (backward.hasPrevious()) {
+            reversed.add(backward.previous());
+            if (reversed.size() == 2) {
+                backward.remove();
+            }
+        }
+        assertEquals(List.of(6, 4, 2, 1), reversed);
+        assertEquals(List.of(1, 2, 6), sortedLinkedList.stream().toList());
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedLinkedList.listIterator(4));
+
+        var iterator = sortedLinkedList.iterator();
+        iterator.next();
+        iterator.remove();
+        assertEquals(List.of(2, 6), sortedLinkedList.stream().toList());
+    }
+
+    @Test
+    void removeIf_singlePass() {
+        var sortedLinkedList = SortedLinkedListImpl.fromInts(IntStream.range(0, 10_000).toArray());
+        sortedLinkedList.enableLazyDelete(1);
+        sortedLinkedList.enableMembershipFilter(10_000, 0.01);
+        sortedLinkedList.remove(1);
+        sortedLinkedList.remove(3);
+
+        assertTrue(sortedLinkedList.removeIf(value -> value % 2 == 1));
+        assertFalse(sortedLinkedList.removeIf(value -> value % 2 == 1));
+
+        assertEquals(5_000, sortedLinkedList.size());
+        assertEquals(0, sortedLinkedList.tombstones());
+        assertEquals(IntStream.range(0, 5_000).map(value -> 2 * value).boxed().toList(), sortedLinkedList.stream().toList());
+        assertFalse(sortedLinkedList.contains(9_999));
+
+        assertTrue(sortedLinkedList.removeIf(value -> true));
+        assertTrue(sortedLinkedList.isEmpty());
+    }
+
+    @Test
+    void changeFeed_replicaFollowsList() {
+        var sortedLinkedList = SortedLinkedListImpl.createForInts(ComparatorFactory.integerComparatorComparator(Order.ASC));
+        sortedLinkedList.addAll(List.of(5, 1, 3));
+
+        var replica = new ArrayList<>(sortedLinkedList.stream().toList());
+        var batches = new ArrayList<List<ChangeEvent<Integer>>>();
+        var completed = new boolean[1];
+
+        sortedLinkedList.enableChangeFeed(64, 4, Runnable::run).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(List<ChangeEvent<Integer>> batch) {
+                batches.add(batch);
+                for (var event : batch) {
+                    switch (event.getType()) {
+                        case INSERT -> replica.add(event.getRank(), event.getValue());
+                        case DELETE -> replica.remove(event.getRank());
+                        case SET -> {
+                            replica.remove(event.getPreviousRank());
+                            replica.add(event.getRank(), event.getValue());
+                        }
+                        case CLEAR -> replica.clear();
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+
+        var random = new Random(5);
+        sortedLinkedList.enableLazyDelete(0.5);
+        for (var idx = 0; idx < 500; idx++) {
+            switch (random.nextInt(5)) {
+                case 0 -> sortedLinkedList.add(random.nextInt(50));
+                case 1 -> sortedLinkedList.remove(random.nextInt(50));
+                case 2 -> sortedLinkedList.addAll(List.of(random.nextInt(50), 50 + random.nextInt(50)));
+                case 3 -> {
+                    //removes through the cursor shift the index of the last inserted record
+                    var cursor = sortedLinkedList.listIterator();
+                    if (cursor.hasNext()) {
+                        cursor.next();
+                        cursor.remove();
+                    }
+                }
+                default -> {
+                    if (!sortedLinkedList.isEmpty()) {
+                        sortedLinkedList.set(random.nextInt(sortedLinkedList.size()), random.nextInt(50));
+                    }
+                }
+            }
+            assertEquals(sortedLinkedList.stream().toList(), replica);
+        }
+
+        sortedLinkedList.clear();
+        assertTrue(replica.isEmpty());
+
+        sortedLinkedList.disableChangeFeed();
+        assertTrue(completed[0]);
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 4));
+    }
+
+    @Test
+    void changeFeed_batchingAndOverflow() {
+        var sortedLinkedList = SortedLinkedListImpl.createForInts();
+        var feed = sortedLinkedList.enableChangeFeed(8, 3, Runnable::run);
+        var batches = new ArrayList<List<ChangeEvent<Integer>>>();
+        var errors = new ArrayList<Throwable>();
+        var subscriptions = new ArrayList<Flow.Subscription>();
+
+        feed.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriptions.add(subscription);
+            }
+
+            @Override
+            public void onNext(List<ChangeEvent<Integer>> batch) {
+                batches.add(batch);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                errors.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        for (var value = 0; value < 5; value++) {
+            sortedLinkedList.add(value);
+        }
+        assertTrue(batches.isEmpty());
+
+        subscriptions.get(0).request(1);
+        assertEquals(1, batches.size());
+        assertEquals(List.of(0L, 1L, 2L), batches.get(0).stream().map(ChangeEvent::getSequence).toList());
+
+        //the writer is never stalled, the slow subscriber is dropped instead
+        for (var value = 0; value < 20; value++) {
+            sortedLinkedList.add(value);
+        }
+        assertEquals(25, sortedLinkedList.size());
+        assertEquals(1, errors.size());
+        assertInstanceOf(ChangeFeedOverflowException.class, errors.get(0));
+        assertFalse(feed.hasSubscribers());
+    }
+
+    @Test
+    void changeFeed_throwingSubscriberDropped() {
+        var sortedLinkedList = SortedLinkedListImpl.createForInts();
+        var feed = sortedLinkedList.enableChangeFeed(8, 1, Runnable::run);
+        var delivered = new ArrayList<List<ChangeEvent<Integer>>>();
+        var reported = new ArrayList<Throwable>();
+
+        feed.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(List<ChangeEvent<Integer>> batch) {
+                throw new IllegalStateException("subscriber failed");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail("onError must not be called after onNext threw");
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        feed.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(List<ChangeEvent<Integer>> batch) {
+                delivered.add(batch);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertEquals(2, feed.subscribers());
+
+        var thread = Thread.currentThread();
+        var handler = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((failed, throwable) -> reported.add(throwable));
+        try {
+            //the throwing subscriber is cancelled and dropped, the writer and the other subscriber continue
+            for (var value = 0; value < 20; value++) {
+                sortedLinkedList.add(value);
+            }
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+
+        assertEquals(20, sortedLinkedList.size());
+        assertEquals(1, feed.subscribers());
+        assertEquals(1, reported.size());
+        assertEquals("subscriber failed", reported.get(0).getMessage());
+        assertEquals(20, delivered.size());
+    }
+
+    @Test
+    void changeFeed_resyncFromSnapshot() {
+        var sortedLinkedList = SortedLinkedListImpl.createForInts();
+        assertNull(sortedLinkedList.changeFeedSnapshot());
+
+        var feed = sortedLinkedList.enableChangeFeed(4, 2, Runnable::run);
+        var errors = new ArrayList<Throwable>();
+        feed.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+            }
+
+            @Override
+            public void onNext(List<ChangeEvent<Integer>> batch) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                errors.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        for (var value = 0; value < 10; value++) {
+            sortedLinkedList.add(value);
+        }
+        assertInstanceOf(ChangeFeedOverflowException.class, errors.get(0));
+
+        //subscribe again first, then take the snapshot, so no change falls between them
+        var events = new ArrayList<ChangeEvent<Integer>>();
+        feed.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(List<ChangeEvent<Integer>> batch) {
+                events.addAll(batch);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        sortedLinkedList.add(-1);
+        sortedLinkedList.remove(5);
+
+        var snapshot = sortedLinkedList.changeFeedSnapshot();
+        //the overflowing subscriber got 5 changes, the adds without any subscriber were not published
+        assertEquals(6, snapshot.getSequence());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getValues().add(1));
+
+        sortedLinkedList.add(7);
+        sortedLinkedList.set(0, 20);
+
+        var replica = new ArrayList<>(snapshot.getValues());
+        for (var event : events) {
+            if (event.getSequence() <= snapshot.getSequence()) {
+                continue;
+            }
+            switch (event.getType()) {
+                case INSERT -> replica.add(event.getRank(), event.getValue());
+                case DELETE -> replica.remove(event.getRank());
+                case SET -> {
+                    replica.remove(event.getPreviousRank());
+                    replica.add(event.getRank(), event.getValue());
+                }
+                case CLEAR -> replica.clear();
+            }
+        }
+        assertEquals(sortedLinkedList.stream().toList(), replica);
+    }
+
+    private <T> List<T> reversed(List<T> values) {
+        var reversed = new ArrayList<>(values);
+        Collections.reverse(reversed);
+        return reversed;
+    }
+
+    private <T> List<T> backward(SortedLinkedListImpl<T> sortedLinkedList) {
+        var values = new ArrayList<T>();
+        var cursor = sortedLinkedList.listIterator(sortedLinkedList.size());
+        while (cursor.hasPrevious()) {
+            values.add(cursor.previous());
+        }
+        return values;
+    }
+
     private <T> void commonValuesAssertions(List<T> expected, SortedLinkedList<T> sortedLinkedList) {
         //check size
         assertEquals(expected.size(), sortedLinkedList.size());
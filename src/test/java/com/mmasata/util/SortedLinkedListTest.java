@@ -0,0 +1,75 @@
+package com.mmasata.util;
+
+import com.mmasata.util.comparator.AscOrderIntegerComparator;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Covers the default methods available to implementations outside of this library.
+ */
+class SortedLinkedListTest {
+
+    @Test
+    void defaultFootprintAndCompact() {
+        var sortedLinkedList = new ExternalSortedLinkedList();
+        sortedLinkedList.addAll(List.of(3, 1, 2));
+
+        var footprint = sortedLinkedList.estimateFootprint();
+        assertEquals(3 * 32, footprint.getNodeBytes());
+        assertEquals(3 * 16, footprint.getValueBytes());
+
+        sortedLinkedList.compact();
+        assertEquals(List.of(1, 2, 3), new ArrayList<>(sortedLinkedList));
+    }
+
+    /**
+     * Minimal implementation overriding none of the default methods
+     */
+    private static class ExternalSortedLinkedList extends AbstractCollection<Integer> implements SortedLinkedList<Integer> {
+
+        private final Comparator<Integer> comparator = new AscOrderIntegerComparator();
+
+        private final List<Integer> values = new ArrayList<>();
+
+        @Override
+        public Comparator<Integer> comparator() {
+            return comparator;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return values.get(index);
+        }
+
+        @Override
+        public void set(int index, Integer value) {
+            values.remove(index);
+            add(value);
+        }
+
+        @Override
+        public boolean add(Integer value) {
+            values.add(value);
+            values.sort(comparator);
+            return true;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return values.iterator();
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.mmasata.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedLongListTest {
+
+    @Test
+    void insertion_splitsBlocks() {
+        var sortedLongList = SortedLongList.createForLongs(8);
+        var random = new Random(17);
+        var expected = new ArrayList<Long>();
+
+        for (var idx = 0; idx < 2_000; idx++) {
+            var value = random.nextInt(500) - 250L;
+            sortedLongList.add(value);
+            expected.add(value);
+        }
+        sortedLongList.add(Long.MIN_VALUE);
+        sortedLongList.add(Long.MAX_VALUE);
+        expected.addAll(List.of(Long.MIN_VALUE, Long.MAX_VALUE));
+        expected.sort(Long::compare);
+
+        assertEquals(2_002, sortedLongList.size());
+        assertEquals(expected, sortedLongList.stream().boxed().toList());
+        assertEquals(expected.get(1_000), sortedLongList.get(1_000));
+        assertTrue(sortedLongList.offHeapBytes() >= 2_002 * Long.BYTES);
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedLongList.get(2_002));
+
+        var inRange = expected.stream().filter(value -> value >= -10 && value <= 100).toList();
+        assertEquals(inRange, sortedLongList.range(-10, 100).boxed().toList());
+        assertEquals(inRange.size(), sortedLongList.count(-10, 100));
+        assertEquals(0, sortedLongList.count(300, 400));
+        assertEquals(0, sortedLongList.range(5, 4).count());
+    }
+
+    @Test
+    void count_matchesBruteForce() {
+        var random = new Random(21);
+        var sortedLongList = SortedLongList.createForLongs(16);
+        var expected = new ArrayList<Long>();
+
+        //few distinct values, so runs of equal values span several blocks
+        for (var idx = 0; idx < 3_000; idx++) {
+            var value = random.nextInt(100) - 50L;
+            sortedLongList.add(value);
+            expected.add(value);
+        }
+        for (var idx = 0; idx < 1_000; idx++) {
+            var value = random.nextInt(100) - 50L;
+            assertEquals(expected.remove(value), sortedLongList.remove(value));
+        }
+        sortedLongList.add(Long.MAX_VALUE);
+        expected.add(Long.MAX_VALUE);
+
+        for (var idx = 0; idx < 500; idx++) {
+            var from = random.nextInt(120) - 60L;
+            var to = random.nextInt(120) - 60L;
+            assertEquals(expected.stream().filter(value -> value >= from && value <= to).count(), sortedLongList.count(from, to));
+        }
+        assertEquals(expected.size(), sortedLongList.count(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(1, sortedLongList.count(Long.MAX_VALUE, Long.MAX_VALUE));
+        assertEquals(0, sortedLongList.count(Long.MIN_VALUE, Long.MIN_VALUE));
+    }
+
+    @Test
+    void containsAndRemove() {
+        var sortedLongList = SortedLongList.createForLongs(4);
+        for (var value = 0L; value < 100; value++) {
+            sortedLongList.add(value * 10);
+            sortedLongList.add(value * 10);
+        }
+
+        assertTrue(sortedLongList.contains(500));
+        assertFalse(sortedLongList.contains(505));
+        assertFalse(sortedLongList.contains(-1));
+        assertFalse(sortedLongList.contains(1_000));
+
+        for (var value = 0L; value < 100; value++) {
+            assertTrue(sortedLongList.remove(value * 10));
+        }
+        assertFalse(sortedLongList.remove(505));
+        assertEquals(100, sortedLongList.size());
+        assertTrue(sortedLongList.contains(990));
+
+        for (var value = 0L; value < 100; value++) {
+            assertTrue(sortedLongList.remove(value * 10));
+        }
+        assertTrue(sortedLongList.isEmpty());
+        assertEquals(0, sortedLongList.offHeapBytes());
+        assertFalse(sortedLongList.iterator().hasNext());
+    }
+
+    @Test
+    void compactAndClose() {
+        var sortedLongList = SortedLongList.createForLongs(16);
+        for (var value = 0L; value < 1_000; value++) {
+            sortedLongList.add(value % 2 == 0 ? value : 1_000 - value);
+        }
+        var before = sortedLongList.stream().boxed().toList();
+
+        sortedLongList.compact();
+        assertEquals(before, sortedLongList.stream().boxed().toList());
+        assertEquals(63 * 16 * Long.BYTES, sortedLongList.offHeapBytes());
+        assertEquals(0, sortedLongList.estimateFootprint().getValueBytes());
+
+        sortedLongList.add(5);
+        assertEquals(1_001, sortedLongList.size());
+
+        sortedLongList.close();
+        assertEquals(0, sortedLongList.offHeapBytes());
+        assertThrows(IllegalStateException.class, () -> sortedLongList.add(1));
+        assertThrows(IllegalStateException.class, () -> sortedLongList.contains(1));
+    }
+
+    @Test
+    void get_followsChurn() {
+        var sortedLongList = SortedLongList.createForLongs(4);
+        var random = new Random(29);
+        var expected = new ArrayList<Long>();
+
+        for (var round = 0; round < 20; round++) {
+            for (var idx = 0; idx < 100; idx++) {
+                long value = random.nextInt(200);
+                sortedLongList.add(value);
+                expected.add(value);
+            }
+            for (var idx = 0; idx < 60; idx++) {
+                long value = random.nextInt(200);
+                assertEquals(expected.remove(value), sortedLongList.remove(value));
+            }
+            if (round % 5 == 4) {
+                sortedLongList.compact();
+            }
+
+            expected.sort(Long::compare);
+            for (var index = 0; index < expected.size(); index++) {
+                assertEquals(expected.get(index), sortedLongList.get(index));
+            }
+        }
+    }
+
+    @Test
+    void close_freesDirectMemory() {
+        var directPool = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .findFirst()
+                .orElseThrow();
+
+        var sortedLongList = SortedLongList.createForLongs(1_024);
+        for (var value = 0L; value < 100_000; value++) {
+            sortedLongList.add(value);
+        }
+
+        //the blocks are freed right away, not when the garbage collector finds them
+        var allocated = sortedLongList.offHeapBytes();
+        var used = directPool.getMemoryUsed();
+        sortedLongList.compact();
+        assertTrue(directPool.getMemoryUsed() <= used - allocated + sortedLongList.offHeapBytes());
+
+        used = directPool.getMemoryUsed();
+        allocated = sortedLongList.offHeapBytes();
+        sortedLongList.close();
+        assertTrue(directPool.getMemoryUsed() <= used - allocated);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.mmasata.util.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingBloomFilterTest {
+
+    @Test
+    void noFalseNegatives() {
+        var filter = new CountingBloomFilter(1_000, 0.01);
+        for (var value = 0; value < 1_000; value++) {
+            filter.add(value);
+        }
+
+        for (var value = 0; value < 1_000; value++) {
+            assertTrue(filter.mightContain(value));
+        }
+        assertEquals(1_000, filter.insertions());
+    }
+
+    @Test
+    void falsePositiveRate() {
+        var filter = new CountingBloomFilter(1_000, 0.01);
+        for (var value = 0; value < 1_000; value++) {
+            filter.add(value);
+        }
+
+        var falsePositives = 0;
+        for (var value = 1_000; value < 101_000; value++) {
+            if (filter.mightContain(value)) {
+                falsePositives++;
+            }
+        }
+
+        //allow some tolerance above the configured 1 %
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+        assertEquals(100_000, filter.stats().getLookups());
+    }
+
+    @Test
+    void removeAndClear() {
+        var filter = new CountingBloomFilter(10, 0.01);
+        filter.add("AAA");
+        filter.add("AAA");
+
+        filter.remove("AAA");
+        assertTrue(filter.mightContain("AAA"));
+
+        filter.remove("AAA");
+        assertFalse(filter.mightContain("AAA"));
+
+        filter.add(null);
+        filter.clear();
+        assertFalse(filter.mightContain(null));
+        assertEquals(0, filter.insertions());
+
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(10, 1));
+    }
+
+}
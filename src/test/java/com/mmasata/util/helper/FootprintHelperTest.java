@@ -0,0 +1,29 @@
+package com.mmasata.util.helper;
+
+import com.mmasata.util.model.IntAggregate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FootprintHelperTest {
+
+    private final FootprintHelper helper = new FootprintHelper();
+
+    @Test
+    void valueFootprint() {
+        assertEquals(0, helper.valueFootprint(null));
+        assertEquals(16, helper.valueFootprint(1));
+        assertEquals(24, helper.valueFootprint(1L));
+        assertEquals(24 + 24, helper.valueFootprint("ABC"));
+        assertEquals(16, helper.valueFootprint(new Object()));
+    }
+
+    @Test
+    void aggregateFootprint() {
+        //header, two references and two longs, then the boxed min and max
+        assertEquals(40 + 2 * 16, helper.aggregateFootprint(new IntAggregate(2, 3, 1, 2)));
+        assertEquals(40, helper.aggregateFootprint(IntAggregate.EMPTY));
+        assertEquals(24, helper.aggregateFootprint(7L));
+    }
+
+}
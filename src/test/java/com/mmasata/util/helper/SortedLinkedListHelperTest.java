@@ -1,13 +1,18 @@
 package com.mmasata.util.helper;
 
 import com.mmasata.util.comparator.ComparatorFactory;
+import com.mmasata.util.comparator.enums.Order;
 import com.mmasata.util.model.Node;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class SortedLinkedListHelperTest {
@@ -58,6 +63,105 @@ class SortedLinkedListHelperTest {
         assertEquals(oldHead, newHead.getNext());
     }
 
+    @Test
+    void performInsertFrom() {
+        var head = prepareData();
+        var third = head.getNext().getNext();
+        head.getNext().markDeleted();
+
+        //gallops backward from the last Node over the tombstone
+        var newNode = helper.performInsertFrom(head, third, ComparatorFactory.alphabeticalOrderStringComparator(), "AAB");
+        assertSame(third, newNode.getNext());
+        assertSame(newNode, helper.findNodeByIndex(head, 1));
+
+        //becomes a new head
+        var newHead = helper.performInsertFrom(head, third, ComparatorFactory.alphabeticalOrderStringComparator(), "A");
+        assertNull(newHead.getPrev());
+        assertSame(head, newHead.getNext());
+
+        //gallops forward and appends
+        var last = helper.performInsertFrom(newHead, newHead, ComparatorFactory.alphabeticalOrderStringComparator(), "DDD");
+        assertSame(third, last.getPrev());
+        assertNull(last.getNext());
+        assertSame(last, helper.findTail(newHead));
+        assertSame(last, helper.findLastLive(last));
+    }
+
+    @Test
+    void performInsertFrom_matchesPerformInsert() {
+        var comparator = ComparatorFactory.integerComparatorComparator(Order.ASC);
+        var random = new Random(9);
+        Node<Integer> head = null;
+        Node<Integer> galloped = null;
+        Node<Integer> finger = null;
+
+        for (var idx = 0; idx < 1_000; idx++) {
+            var value = idx + random.nextInt(40) - 20;
+            head = helper.performInsert(head, comparator, value);
+
+            finger = helper.performInsertFrom(galloped, finger, comparator, value);
+            if (finger.getPrev() == null) {
+                galloped = finger;
+            }
+        }
+
+        assertEquals(List.of(helper.convertToArray(head, 1_000)), List.of(helper.convertToArray(galloped, 1_000)));
+    }
+
+    @Test
+    void findRankFrom() {
+        var comparator = ComparatorFactory.integerComparatorComparator(Order.ASC);
+        var random = new Random(11);
+        Node<Integer> head = null;
+        Node<Integer> finger = null;
+
+        for (var idx = 0; idx < 500; idx++) {
+            var fingerRank = finger == null ? -1 : helper.findIndexOfNode(head, finger);
+            var newNode = helper.performInsertFrom(head, finger, comparator, random.nextInt(100));
+            if (newNode.getPrev() == null) {
+                head = newNode;
+            }
+
+            if (finger != null) {
+                assertEquals(helper.findIndexOfNode(head, newNode), helper.findRankFrom(finger, fingerRank, newNode));
+            }
+
+            //tombstones are not counted on either side
+            var firstLive = helper.findFirstLive(head);
+            if (idx % 7 == 3 && firstLive != newNode) {
+                firstLive.markDeleted();
+            }
+            finger = newNode;
+        }
+    }
+
+    @Test
+    void performLink() {
+        var head = helper.performLink(List.of(HEAD_VALUE, SECOND_VALUE, THIRD_VALUE).iterator());
+
+        assertNull(head.getPrev());
+        assertEquals(HEAD_VALUE, head.getValue());
+        assertEquals(SECOND_VALUE, head.getNext().getValue());
+        assertEquals(head, head.getNext().getPrev());
+        assertNull(head.getNext().getNext().getNext());
+        assertNull(helper.performLink(List.<String>of().iterator()));
+    }
+
+    @Test
+    void performPurge() {
+        var head = prepareData();
+        var second = head.getNext();
+        head.markDeleted();
+        second.getNext().markDeleted();
+
+        var newHead = helper.performPurge(head);
+
+        assertEquals(second, newHead);
+        assertNull(newHead.getPrev());
+        assertNull(newHead.getNext());
+        assertNull(helper.findNodeByValue(newHead, THIRD_VALUE));
+    }
+
     @Test
     void performClear() {
         var head = prepareData();
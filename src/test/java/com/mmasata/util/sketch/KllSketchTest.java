@@ -0,0 +1,111 @@
+package com.mmasata.util.sketch;
+
+import com.mmasata.util.comparator.ComparatorFactory;
+import com.mmasata.util.comparator.enums.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KllSketchTest {
+
+    @Test
+    void smallStream_isExact() {
+        var sketch = KllSketch.createForInts();
+        sketch.addAll(List.of(5, 3, 9, 1, 7));
+
+        assertEquals(5, sketch.size());
+        assertEquals(1, sketch.quantile(0));
+        assertEquals(5, sketch.quantile(0.5));
+        assertEquals(9, sketch.quantile(1));
+        assertEquals(7, sketch.get(3));
+        assertEquals(2, sketch.rank(4));
+        assertEquals(0.4, sketch.normalizedRank(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> sketch.get(5));
+    }
+
+    @Test
+    void largeStream_boundedMemoryAndRankError() {
+        var values = new ArrayList<>(IntStream.range(0, 200_000).boxed().toList());
+        Collections.shuffle(values, new Random(1));
+
+        var sketch = KllSketch.create(ComparatorFactory.integerComparatorComparator(Order.ASC), KllSketch.DEFAULT_K, new Random(2));
+        sketch.addAll(values);
+
+        assertEquals(200_000, sketch.size());
+        assertTrue(sketch.retainedItems() < 3 * KllSketch.DEFAULT_K, "retained " + sketch.retainedItems());
+
+        for (var quantile = 0.01; quantile < 1; quantile += 0.01) {
+            var estimate = sketch.quantile(quantile);
+            assertEquals(quantile * 200_000, estimate, 0.02 * 200_000);
+            assertEquals(estimate, sketch.rank(estimate), 0.02 * 200_000);
+        }
+    }
+
+    @Test
+    void merge_acrossSketches() {
+        var merged = KllSketch.create(ComparatorFactory.integerComparatorComparator(Order.DESC), 100, new Random(3));
+        var random = new Random(4);
+
+        for (var part = 0; part < 4; part++) {
+            var sketch = KllSketch.create(ComparatorFactory.integerComparatorComparator(Order.DESC), 100, new Random(part));
+            for (var idx = 0; idx < 25_000; idx++) {
+                sketch.add(random.nextInt(100_000));
+            }
+            merged.merge(sketch);
+        }
+
+        assertEquals(100_000, merged.size());
+        assertTrue(merged.retainedItems() < 3 * 100);
+        //descending order, so the median is about the middle and the 0.9 quantile is about the lowest tenth
+        assertEquals(50_000, merged.quantile(0.5), 4_000);
+        assertEquals(10_000, merged.quantile(0.9), 4_000);
+
+        merged.clear();
+        assertTrue(merged.isEmpty());
+        assertThrows(IllegalStateException.class, () -> merged.quantile(0.5));
+    }
+
+    @Test
+    void merge_withItself() {
+        var sketch = KllSketch.create(ComparatorFactory.integerComparatorComparator(Order.ASC), 100, new Random(5));
+        for (var idx = 0; idx < 10; idx++) {
+            sketch.add(idx);
+        }
+
+        sketch.merge(sketch);
+
+        assertEquals(20, sketch.size());
+        assertEquals(20, sketch.retainedItems());
+        assertEquals(0, sketch.get(0));
+        assertEquals(9, sketch.get(19));
+        assertEquals(4, sketch.quantile(0.5));
+
+        //larger sketches are compacted after the self-merge
+        for (var idx = 10; idx < 10_000; idx++) {
+            sketch.add(idx);
+        }
+        sketch.merge(sketch);
+        assertEquals(20_020, sketch.size());
+        assertTrue(sketch.retainedItems() < 3 * 100);
+        assertEquals(5_000, sketch.quantile(0.5), 500);
+    }
+
+    @Test
+    void merge_rejectsDifferentComparator() {
+        var ascending = KllSketch.create(ComparatorFactory.integerComparatorComparator(Order.ASC), 100, new Random(6));
+        var descending = KllSketch.create(ComparatorFactory.integerComparatorComparator(Order.DESC), 100, new Random(7));
+        ascending.add(1);
+        descending.add(2);
+
+        assertThrows(IllegalArgumentException.class, () -> ascending.merge(descending));
+        assertEquals(1, ascending.size());
+        assertEquals(1, ascending.retainedItems());
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.mmasata.util.workload;
+
+import com.mmasata.util.SortedArrayList;
+import com.mmasata.util.SortedLinkedListImpl;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadReplayerTest {
+
+    @Test
+    void recordAndRead() throws IOException {
+        var output = new ByteArrayOutputStream();
+        try (var recording = new RecordingSortedLinkedList<>(SortedLinkedListImpl.fromStrings(List.of()), output, ValueCodecFactory.strings())) {
+            recording.addAll(Arrays.asList("BBB", null, "ÁÁÁ"));
+            recording.contains("CCC");
+            recording.get(1);
+            recording.set(0, "DDD");
+            recording.remove("BBB");
+            assertThrows(IndexOutOfBoundsException.class, () -> recording.get(10));
+            recording.clear();
+        }
+
+        try (var reader = new TraceReader<>(new ByteArrayInputStream(output.toByteArray()), ValueCodecFactory.strings())) {
+            var entries = reader.readAll();
+
+            assertEquals(List.of(Operation.ADD, Operation.ADD, Operation.ADD, Operation.CONTAINS, Operation.GET, Operation.SET,
+                    Operation.REMOVE, Operation.GET, Operation.CLEAR), entries.stream().map(TraceEntry::getOperation).toList());
+            assertEquals(Arrays.asList("BBB", null, "ÁÁÁ", "CCC", null, "DDD", "BBB", null, null), entries.stream().map(TraceEntry::getValue).toList());
+            assertEquals(List.of(0, 0, 0, 0, 1, 0, 0, 10, 0), entries.stream().map(TraceEntry::getIndex).toList());
+
+            for (var idx = 1; idx < entries.size(); idx++) {
+                assertTrue(entries.get(idx).getStartNanos() >= entries.get(idx - 1).getStartNanos());
+            }
+        }
+    }
+
+    @Test
+    void replay_reproducesState() throws IOException {
+        var output = new ByteArrayOutputStream();
+        var random = new Random(3);
+        var recorded = SortedLinkedListImpl.fromInts(List.of());
+
+        try (var recording = new RecordingSortedLinkedList<>(recorded, output, ValueCodecFactory.ints())) {
+            for (var idx = 0; idx < 2_000; idx++) {
+                var value = random.nextInt(500) - 250;
+                switch (random.nextInt(4)) {
+                    case 0, 1 -> recording.add(value);
+                    case 2 -> recording.remove(value);
+                    default -> recording.contains(value);
+                }
+            }
+            recording.get(recording.size() / 2);
+            recording.add(null);
+        }
+
+        var replayed = SortedArrayList.createForInts();
+        var report = new WorkloadReplayer().replay(new ByteArrayInputStream(output.toByteArray()), ValueCodecFactory.ints(), replayed);
+
+        assertEquals(recorded.stream().toList(), replayed.stream().toList());
+        assertEquals(2_002, report.getOperations());
+        assertEquals(0, report.getFailures());
+        assertTrue(report.getP50Nanos() <= report.getP90Nanos());
+        assertTrue(report.getP90Nanos() <= report.getP99Nanos());
+        assertTrue(report.getP99Nanos() <= report.getP999Nanos());
+        assertTrue(report.getP999Nanos() <= report.getMaxNanos());
+        assertTrue(report.throughput() > 0);
+    }
+
+    @Test
+    void writerFailure_suppressedByOperationFailure() {
+        var failingCodec = new ValueCodec<String>() {
+            @Override
+            public void write(DataOutput out, String value) throws IOException {
+                throw new IOException("trace output failed");
+            }
+
+            @Override
+            public String read(DataInput in) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        var recording = new RecordingSortedLinkedList<>(SortedLinkedListImpl.fromStrings(List.of()), new ByteArrayOutputStream(), failingCodec);
+        var failure = assertThrows(IndexOutOfBoundsException.class, () -> recording.set(3, "AAA"));
+        assertEquals(1, failure.getSuppressed().length);
+        assertInstanceOf(UncheckedIOException.class, failure.getSuppressed()[0]);
+
+        //without a failure of the operation the writer failure is thrown
+        assertThrows(UncheckedIOException.class, () -> recording.add("AAA"));
+    }
+
+    @Test
+    void foreignType_notCaptured() throws IOException {
+        var output = new ByteArrayOutputStream();
+        try (var recording = new RecordingSortedLinkedList<>(SortedArrayList.createForStrings(), output, ValueCodecFactory.strings())) {
+            recording.add("AAA");
+            assertFalse(recording.contains(42));
+            assertFalse(recording.remove(42));
+            assertTrue(recording.contains("AAA"));
+        }
+
+        try (var reader = new TraceReader<>(new ByteArrayInputStream(output.toByteArray()), ValueCodecFactory.strings())) {
+            assertEquals(List.of(Operation.ADD, Operation.CONTAINS), reader.readAll().stream().map(TraceEntry::getOperation).toList());
+        }
+    }
+
+    @Test
+    void decreasingStart_clamped() throws IOException {
+        var output = new ByteArrayOutputStream();
+        try (var writer = new TraceWriter<>(output, ValueCodecFactory.ints())) {
+            writer.write(Operation.ADD, 1_000, 5, 0, 1);
+            //a concurrent caller which started earlier but got the lock later
+            writer.write(Operation.ADD, 900, 5, 0, 2);
+            writer.write(Operation.ADD, 1_100, 5, 0, 3);
+        }
+
+        try (var reader = new TraceReader<>(new ByteArrayInputStream(output.toByteArray()), ValueCodecFactory.ints())) {
+            var entries = reader.readAll();
+            assertEquals(List.of(1_000L, 1_000L, 1_100L), entries.stream().map(TraceEntry::getStartNanos).toList());
+            assertEquals(List.of(1, 2, 3), entries.stream().map(TraceEntry::getValue).toList());
+        }
+    }
+
+    @Test
+    void invalidTrace() {
+        var input = new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5});
+        assertThrows(IOException.class, () -> new TraceReader<>(input, ValueCodecFactory.ints()));
+    }
+
+}